@@ -0,0 +1,63 @@
+package com.reftch.json.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.reftch.json.parser.Mapper;
+import com.reftch.json.parser.MapperException;
+import com.reftch.json.parser.MapperFactory;
+
+/**
+ * Throughput with all hardware threads sharing the same mappers, compared with
+ * looking the mapper up in the factory on every call, to expose contention on
+ * shared per-class state and on the mapper registry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(Threads.MAX)
+public class ContendedBenchmark {
+
+    private Mapper<Payloads.Medium> mediumMapper;
+    private Mapper<Payloads.Regular> regularMapper;
+    private Payloads.Medium medium;
+    private String mediumJson;
+    private String regularJson;
+
+    @Setup
+    public void setUp() {
+        mediumMapper = MapperFactory.createMapper(Payloads.Medium.class);
+        regularMapper = MapperFactory.createMapper(Payloads.Regular.class);
+        medium = Payloads.medium();
+        mediumJson = Payloads.mediumJson();
+        regularJson = Payloads.regularJson();
+    }
+
+    @Benchmark
+    public String sharedSerialize() throws MapperException {
+        return mediumMapper.toJson(medium);
+    }
+
+    @Benchmark
+    public Payloads.Medium sharedDeserialize() throws MapperException {
+        return mediumMapper.toObject(mediumJson);
+    }
+
+    @Benchmark
+    public Payloads.Regular sharedDeserializeRegular() throws MapperException {
+        return regularMapper.toObject(regularJson);
+    }
+
+    @Benchmark
+    public Payloads.Medium lookupPerCall() throws MapperException {
+        return MapperFactory.createMapper(Payloads.Medium.class).toObject(mediumJson);
+    }
+}
@@ -0,0 +1,119 @@
+package com.reftch.json.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.reftch.json.parser.Binding;
+import com.reftch.json.parser.Mapper;
+import com.reftch.json.parser.MapperException;
+import com.reftch.json.parser.MapperFactory;
+
+/**
+ * Single-threaded {@code toObject} cost per payload shape, and of reading three fields of the large
+ * payload through a projection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeserializerBenchmark {
+
+    @Param({ "16", "1024" })
+    int size;
+
+    @Param({ "REFLECTION", "BYTECODE" })
+    Binding binding;
+
+    private Mapper<Payloads.Small> smallMapper;
+    private Mapper<Payloads.Medium> mediumMapper;
+    private Mapper<Payloads.Large> largeMapper;
+    private Mapper<Payloads.Large> largeProjection;
+    private Mapper<Payloads.Regular> regularMapper;
+    private Mapper<Payloads.PrimitiveArrays> primitiveArraysMapper;
+    private Mapper<Payloads.ListFields> listFieldsMapper;
+    private Mapper<Payloads.StringHeavy> stringHeavyMapper;
+    private Mapper<Payloads.NumberHeavy> numberHeavyMapper;
+
+    private String smallJson;
+    private String mediumJson;
+    private String largeJson;
+    private String regularJson;
+    private String primitiveArraysJson;
+    private String listFieldsJson;
+    private String stringHeavyJson;
+    private String numberHeavyJson;
+
+    @Setup
+    public void setUp() {
+        smallMapper = MapperFactory.createMapper(Payloads.Small.class, binding);
+        mediumMapper = MapperFactory.createMapper(Payloads.Medium.class, binding);
+        largeMapper = MapperFactory.createMapper(Payloads.Large.class, binding);
+        largeProjection = MapperFactory.createProjection(Payloads.Large.class, "id", "email", "active");
+        regularMapper = MapperFactory.createMapper(Payloads.Regular.class, binding);
+        primitiveArraysMapper = MapperFactory.createMapper(Payloads.PrimitiveArrays.class, binding);
+        listFieldsMapper = MapperFactory.createMapper(Payloads.ListFields.class, binding);
+        stringHeavyMapper = MapperFactory.createMapper(Payloads.StringHeavy.class, binding);
+        numberHeavyMapper = MapperFactory.createMapper(Payloads.NumberHeavy.class, binding);
+
+        smallJson = Payloads.smallJson();
+        mediumJson = Payloads.mediumJson();
+        largeJson = Payloads.largeJson();
+        regularJson = Payloads.regularJson();
+        primitiveArraysJson = Payloads.primitiveArraysJson(size);
+        listFieldsJson = Payloads.listFieldsJson(size);
+        stringHeavyJson = Payloads.stringHeavyJson();
+        numberHeavyJson = Payloads.numberHeavyJson();
+    }
+
+    @Benchmark
+    public Payloads.Small smallRecord() throws MapperException {
+        return smallMapper.toObject(smallJson);
+    }
+
+    @Benchmark
+    public Payloads.Medium mediumRecord() throws MapperException {
+        return mediumMapper.toObject(mediumJson);
+    }
+
+    @Benchmark
+    public Payloads.Large largeRecord() throws MapperException {
+        return largeMapper.toObject(largeJson);
+    }
+
+    @Benchmark
+    public Payloads.Large largeRecordProjection() throws MapperException {
+        return largeProjection.toObject(largeJson);
+    }
+
+    @Benchmark
+    public Payloads.Regular regularClass() throws MapperException {
+        return regularMapper.toObject(regularJson);
+    }
+
+    @Benchmark
+    public Payloads.PrimitiveArrays primitiveArrays() throws MapperException {
+        return primitiveArraysMapper.toObject(primitiveArraysJson);
+    }
+
+    @Benchmark
+    public Payloads.ListFields listFields() throws MapperException {
+        return listFieldsMapper.toObject(listFieldsJson);
+    }
+
+    @Benchmark
+    public Payloads.StringHeavy stringHeavy() throws MapperException {
+        return stringHeavyMapper.toObject(stringHeavyJson);
+    }
+
+    @Benchmark
+    public Payloads.NumberHeavy numberHeavy() throws MapperException {
+        return numberHeavyMapper.toObject(numberHeavyJson);
+    }
+}
@@ -0,0 +1,79 @@
+package com.reftch.json.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.reftch.json.parser.JsonNode;
+import com.reftch.json.parser.MapperException;
+
+/**
+ * Indexing a document into a {@link JsonNode} tree: UTF-8 input through the structural scanner,
+ * with and without {@code jdk.incubator.vector} in the forked JVM, against the lexer on a string.
+ * The {@code bytes} counter reports the scanning rate in bytes per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IndexBenchmark {
+
+    @Param({ "16", "4096" })
+    int size;
+
+    private String json;
+    private byte[] utf8;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        var array = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                array.append(",\n  ");
+            }
+            array.append(Payloads.largeJson());
+        }
+        json = array.append(']').toString();
+        utf8 = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @Fork(jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+    public JsonNode vectorScanner(Bytes counter) throws MapperException {
+        counter.bytes += utf8.length;
+        return JsonNode.parse(utf8);
+    }
+
+    @Benchmark
+    public JsonNode scalarScanner(Bytes counter) throws MapperException {
+        counter.bytes += utf8.length;
+        return JsonNode.parse(utf8);
+    }
+
+    @Benchmark
+    public JsonNode lexer(Bytes counter) throws MapperException {
+        counter.bytes += utf8.length;
+        return JsonNode.parse(json);
+    }
+}
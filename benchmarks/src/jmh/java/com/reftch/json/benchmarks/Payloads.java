@@ -0,0 +1,222 @@
+package com.reftch.json.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark model types together with deterministic sample instances and their JSON documents.
+ */
+public final class Payloads {
+    private static final long SEED = 42L;
+
+    private Payloads() {
+    }
+
+    public record Small(String name, int age, boolean active) {
+    }
+
+    public record Medium(long id, String name, String email, int age, double score, boolean active,
+            String country, String city, String[] tags, long createdAt) {
+    }
+
+    public record Large(long id, String firstName, String lastName, String email, String phone,
+            String street, String city, String zip, String country, int age, int visits, long createdAt,
+            long updatedAt, double balance, double score, float rating, boolean active, boolean verified,
+            String[] tags, int[] history) {
+    }
+
+    public static class Regular {
+        String name;
+        String email;
+        int age;
+        long createdAt;
+        double balance;
+        boolean verified;
+    }
+
+    public record PrimitiveArrays(int[] ints, long[] longs, double[] doubles, boolean[] flags) {
+    }
+
+    public static class ListFields {
+        List<String> names;
+        List<Integer> counts;
+        List<Double> ratios;
+    }
+
+    public record StringHeavy(String title, String body, String author, String[] comments) {
+    }
+
+    public record NumberHeavy(int i1, int i2, int i3, int i4, long l1, long l2, long l3, long l4,
+            double d1, double d2, double d3, double d4, double d5, double d6, float f1, float f2) {
+    }
+
+    public static Small small() {
+        return new Small("John Smith", 33, true);
+    }
+
+    public static String smallJson() {
+        return "{\"name\":\"John Smith\",\"age\":33,\"active\":true}";
+    }
+
+    public static Medium medium() {
+        return new Medium(1_234_567_890L, "John Smith", "john.smith@example.com", 33, 87.25, true,
+                "Germany", "Berlin", new String[] { "admin", "beta", "eu" }, 1_700_000_000_000L);
+    }
+
+    public static String mediumJson() {
+        return """
+                {"id":1234567890,"name":"John Smith","email":"john.smith@example.com","age":33,\
+                "score":87.25,"active":true,"country":"Germany","city":"Berlin",\
+                "tags":["admin","beta","eu"],"createdAt":1700000000000}""";
+    }
+
+    public static Large large() {
+        var history = new int[64];
+        for (int i = 0; i < history.length; i++) {
+            history[i] = i * 37 % 101;
+        }
+        return new Large(1_234_567_890L, "John", "Smith", "john.smith@example.com", "+49 30 1234567",
+                "Unter den Linden 1", "Berlin", "10117", "Germany", 33, 1_024, 1_700_000_000_000L,
+                1_700_000_500_000L, 10_542.37, 87.25, 4.5f, true, false,
+                new String[] { "admin", "beta", "eu", "newsletter", "premium" }, history);
+    }
+
+    public static String largeJson() {
+        var json = new StringBuilder("""
+                {"id":1234567890,"firstName":"John","lastName":"Smith","email":"john.smith@example.com",\
+                "phone":"+49 30 1234567","street":"Unter den Linden 1","city":"Berlin","zip":"10117",\
+                "country":"Germany","age":33,"visits":1024,"createdAt":1700000000000,\
+                "updatedAt":1700000500000,"balance":10542.37,"score":87.25,"rating":4.5,"active":true,\
+                "verified":false,"tags":["admin","beta","eu","newsletter","premium"],"history":[""");
+        for (int i = 0; i < 64; i++) {
+            json.append(i > 0 ? "," : "").append(i * 37 % 101);
+        }
+        return json.append("]}").toString();
+    }
+
+    public static Regular regular() {
+        var regular = new Regular();
+        regular.name = "John Smith";
+        regular.email = "john.smith@example.com";
+        regular.age = 33;
+        regular.createdAt = 1_700_000_000_000L;
+        regular.balance = 10_542.37;
+        regular.verified = true;
+        return regular;
+    }
+
+    public static String regularJson() {
+        return """
+                {"name":"John Smith","email":"john.smith@example.com","age":33,\
+                "createdAt":1700000000000,"balance":10542.37,"verified":true}""";
+    }
+
+    public static PrimitiveArrays primitiveArrays(int size) {
+        var random = new Random(SEED);
+        var ints = new int[size];
+        var longs = new long[size];
+        var doubles = new double[size];
+        var flags = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = random.nextInt();
+            longs[i] = random.nextLong();
+            doubles[i] = random.nextDouble() * 1_000;
+            flags[i] = random.nextBoolean();
+        }
+        return new PrimitiveArrays(ints, longs, doubles, flags);
+    }
+
+    public static String primitiveArraysJson(int size) {
+        var arrays = primitiveArrays(size);
+        var json = new StringBuilder("{\"ints\":[");
+        for (int i = 0; i < size; i++) {
+            json.append(i > 0 ? "," : "").append(arrays.ints()[i]);
+        }
+        json.append("],\"longs\":[");
+        for (int i = 0; i < size; i++) {
+            json.append(i > 0 ? "," : "").append(arrays.longs()[i]);
+        }
+        json.append("],\"doubles\":[");
+        for (int i = 0; i < size; i++) {
+            json.append(i > 0 ? "," : "").append(arrays.doubles()[i]);
+        }
+        json.append("],\"flags\":[");
+        for (int i = 0; i < size; i++) {
+            json.append(i > 0 ? "," : "").append(arrays.flags()[i]);
+        }
+        return json.append("]}").toString();
+    }
+
+    public static ListFields listFields(int size) {
+        var random = new Random(SEED);
+        var lists = new ListFields();
+        lists.names = new ArrayList<>(size);
+        lists.counts = new ArrayList<>(size);
+        lists.ratios = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lists.names.add("name-" + i);
+            lists.counts.add(random.nextInt(10_000));
+            lists.ratios.add(random.nextDouble());
+        }
+        return lists;
+    }
+
+    public static String listFieldsJson(int size) {
+        var lists = listFields(size);
+        var json = new StringBuilder("{\"names\":[");
+        for (int i = 0; i < size; i++) {
+            json.append(i > 0 ? "," : "").append('"').append(lists.names.get(i)).append('"');
+        }
+        json.append("],\"counts\":[");
+        for (int i = 0; i < size; i++) {
+            json.append(i > 0 ? "," : "").append(lists.counts.get(i));
+        }
+        json.append("],\"ratios\":[");
+        for (int i = 0; i < size; i++) {
+            json.append(i > 0 ? "," : "").append(lists.ratios.get(i));
+        }
+        return json.append("]}").toString();
+    }
+
+    public static StringHeavy stringHeavy() {
+        var paragraph = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. \"Quoted\" text,\ttabs,\n"
+                + "new lines and unicode: äöü ß € 😀. ";
+        var comments = new String[16];
+        for (int i = 0; i < comments.length; i++) {
+            comments[i] = "Comment " + i + ": " + paragraph;
+        }
+        return new StringHeavy("A \"quoted\" title", paragraph.repeat(20), "Jürgen Müller", comments);
+    }
+
+    public static String stringHeavyJson() {
+        var value = stringHeavy();
+        var json = new StringBuilder("{\"title\":").append(quote(value.title()))
+                .append(",\"body\":").append(quote(value.body()))
+                .append(",\"author\":").append(quote(value.author()))
+                .append(",\"comments\":[");
+        for (int i = 0; i < value.comments().length; i++) {
+            json.append(i > 0 ? "," : "").append(quote(value.comments()[i]));
+        }
+        return json.append("]}").toString();
+    }
+
+    public static NumberHeavy numberHeavy() {
+        return new NumberHeavy(1, -42, 1_000_000, Integer.MAX_VALUE, 0L, -9_876_543_210L, 1_700_000_000_000L,
+                Long.MIN_VALUE, 0.1, -2.5e-8, 3.141592653589793, 6.02214076e23, 1_234.5678, 1e-300,
+                1.5f, 3.4028235e38f);
+    }
+
+    public static String numberHeavyJson() {
+        var n = numberHeavy();
+        return "{\"i1\":" + n.i1() + ",\"i2\":" + n.i2() + ",\"i3\":" + n.i3() + ",\"i4\":" + n.i4()
+                + ",\"l1\":" + n.l1() + ",\"l2\":" + n.l2() + ",\"l3\":" + n.l3() + ",\"l4\":" + n.l4()
+                + ",\"d1\":" + n.d1() + ",\"d2\":" + n.d2() + ",\"d3\":" + n.d3() + ",\"d4\":" + n.d4()
+                + ",\"d5\":" + n.d5() + ",\"d6\":" + n.d6() + ",\"f1\":" + n.f1() + ",\"f2\":" + n.f2() + "}";
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\t", "\\t").replace("\n", "\\n")
+                + "\"";
+    }
+}
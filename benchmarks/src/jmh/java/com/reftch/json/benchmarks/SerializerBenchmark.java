@@ -0,0 +1,130 @@
+package com.reftch.json.benchmarks;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.reftch.json.parser.Binding;
+import com.reftch.json.parser.Mapper;
+import com.reftch.json.parser.MapperException;
+import com.reftch.json.parser.MapperFactory;
+
+/**
+ * Single-threaded {@code toJson} cost per payload shape, and of producing UTF-8 for a large payload
+ * through a string, directly as bytes and straight to a stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerializerBenchmark {
+
+    @Param({ "16", "1024" })
+    int size;
+
+    @Param({ "REFLECTION", "BYTECODE" })
+    Binding binding;
+
+    private Mapper<Payloads.Small> smallMapper;
+    private Mapper<Payloads.Medium> mediumMapper;
+    private Mapper<Payloads.Large> largeMapper;
+    private Mapper<Payloads.Regular> regularMapper;
+    private Mapper<Payloads.PrimitiveArrays> primitiveArraysMapper;
+    private Mapper<Payloads.ListFields> listFieldsMapper;
+    private Mapper<Payloads.StringHeavy> stringHeavyMapper;
+    private Mapper<Payloads.NumberHeavy> numberHeavyMapper;
+
+    private Payloads.Small small;
+    private Payloads.Medium medium;
+    private Payloads.Large large;
+    private Payloads.Regular regular;
+    private Payloads.PrimitiveArrays primitiveArrays;
+    private Payloads.ListFields listFields;
+    private Payloads.StringHeavy stringHeavy;
+    private Payloads.NumberHeavy numberHeavy;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        smallMapper = MapperFactory.createMapper(Payloads.Small.class, binding);
+        mediumMapper = MapperFactory.createMapper(Payloads.Medium.class, binding);
+        largeMapper = MapperFactory.createMapper(Payloads.Large.class, binding);
+        regularMapper = MapperFactory.createMapper(Payloads.Regular.class, binding);
+        primitiveArraysMapper = MapperFactory.createMapper(Payloads.PrimitiveArrays.class, binding);
+        listFieldsMapper = MapperFactory.createMapper(Payloads.ListFields.class, binding);
+        stringHeavyMapper = MapperFactory.createMapper(Payloads.StringHeavy.class, binding);
+        numberHeavyMapper = MapperFactory.createMapper(Payloads.NumberHeavy.class, binding);
+
+        small = Payloads.small();
+        medium = Payloads.medium();
+        large = Payloads.large();
+        regular = Payloads.regular();
+        primitiveArrays = Payloads.primitiveArrays(size);
+        listFields = Payloads.listFields(size);
+        stringHeavy = Payloads.stringHeavy();
+        numberHeavy = Payloads.numberHeavy();
+    }
+
+    @Benchmark
+    public String smallRecord() throws MapperException {
+        return smallMapper.toJson(small);
+    }
+
+    @Benchmark
+    public String mediumRecord() throws MapperException {
+        return mediumMapper.toJson(medium);
+    }
+
+    @Benchmark
+    public String largeRecord() throws MapperException {
+        return largeMapper.toJson(large);
+    }
+
+    @Benchmark
+    public String regularClass() throws MapperException {
+        return regularMapper.toJson(regular);
+    }
+
+    @Benchmark
+    public String primitiveArrays() throws MapperException {
+        return primitiveArraysMapper.toJson(primitiveArrays);
+    }
+
+    @Benchmark
+    public String listFields() throws MapperException {
+        return listFieldsMapper.toJson(listFields);
+    }
+
+    @Benchmark
+    public String stringHeavy() throws MapperException {
+        return stringHeavyMapper.toJson(stringHeavy);
+    }
+
+    @Benchmark
+    public String numberHeavy() throws MapperException {
+        return numberHeavyMapper.toJson(numberHeavy);
+    }
+
+    @Benchmark
+    public byte[] largeRecordStringUtf8() throws MapperException {
+        return largeMapper.toJson(large).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] largeRecordBytes() throws MapperException {
+        return largeMapper.toJsonBytes(large);
+    }
+
+    @Benchmark
+    public void largeRecordStream() throws MapperException {
+        largeMapper.toJson(large, sink);
+    }
+}
@@ -0,0 +1,18 @@
+package com.reftch.json.parser;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code byte[]} field or record component to be written as a Base64 string instead of
+ * an array of numbers.
+ * 
+ * When reading, a {@code byte[]} accepts either form regardless of this annotation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.RECORD_COMPONENT })
+public @interface Base64Encoded {
+
+}
@@ -0,0 +1,19 @@
+package com.reftch.json.parser;
+
+/**
+ * How a mapper binds the properties of its class, see {@link MapperFactory#createMapper(Class, Binding)}.
+ */
+public enum Binding {
+    /**
+     * Through the mapper generated at compile time for the class when there is one, otherwise through reflection.
+     */
+    REFLECTION,
+
+    /**
+     * Through the mapper generated at compile time for the class when there is one, otherwise through
+     * a hidden class generated at runtime on first use, with field access, construction and key dispatch
+     * unrolled for the class. Falls back to reflection for classes that cannot be generated, such as
+     * classes with final fields or in packages not open to this library.
+     */
+    BYTECODE
+}
@@ -1,5 +1,12 @@
 package com.reftch.json.parser;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
 public sealed interface Deserializer<T> permits Mapper {
     /**
      * Converts a JSON string back to an object of the specified class
@@ -11,4 +18,132 @@ public sealed interface Deserializer<T> permits Mapper {
      * @throws MapperException if deserialization fails
      */
     T toObject(String json) throws MapperException;
+
+    /**
+     * Converts UTF-8 encoded JSON back to an object without decoding the whole input to a String.
+     * Only the string values that are bound to the object get decoded.
+     *
+     * @param utf8   the array holding the UTF-8 encoded JSON
+     * @param offset the index of the first byte of the JSON document
+     * @param length the number of bytes of the JSON document
+     * @return an object populated with data from the JSON document
+     * @throws MapperException if deserialization fails
+     */
+    T toObject(byte[] utf8, int offset, int length) throws MapperException;
+
+    /**
+     * Converts UTF-8 encoded JSON back to an object
+     *
+     * @param utf8 the UTF-8 encoded JSON document
+     * @return an object populated with data from the JSON document
+     * @throws MapperException if deserialization fails
+     */
+    default T toObject(byte[] utf8) throws MapperException {
+        return toObject(utf8, 0, utf8.length);
+    }
+
+    /**
+     * Converts the remaining UTF-8 encoded bytes of a heap or direct buffer back to an object.
+     * Direct buffers are read in place; the position of the buffer is not changed.
+     *
+     * @param utf8 the buffer holding the UTF-8 encoded JSON between its position and limit
+     * @return an object populated with data from the JSON document
+     * @throws MapperException if deserialization fails
+     */
+    T toObject(ByteBuffer utf8) throws MapperException;
+
+    /**
+     * Reads UTF-8 encoded JSON incrementally from a stream. Memory use is bounded by the largest
+     * single value of the document rather than by the document size. The stream is not closed.
+     *
+     * @param utf8 the stream of UTF-8 encoded JSON
+     * @return an object populated with data from the JSON document
+     * @throws MapperException if reading or deserialization fails
+     */
+    T toObject(InputStream utf8) throws MapperException;
+
+    /**
+     * Reads JSON incrementally from a character stream. Memory use is bounded by the largest
+     * single value of the document rather than by the document size. The reader is not closed.
+     *
+     * @param reader the character stream of JSON
+     * @return an object populated with data from the JSON document
+     * @throws MapperException if reading or deserialization fails
+     */
+    T toObject(Reader reader) throws MapperException;
+
+    /**
+     * Reads a UTF-8 file mapped into memory, without loading it onto the heap; only bound values are
+     * copied out of the mapping. Files larger than 2 GB are supported as long as no single value is
+     * larger than 1 GB. The mapping is released before this method returns.
+     *
+     * @param path the path of a UTF-8 encoded JSON file
+     * @return an object populated with data from the JSON document
+     * @throws MapperException if the file cannot be read or deserialization fails
+     */
+    T toObject(Path path) throws MapperException;
+
+    /**
+     * Binds a value of an indexed document. Only the part of the source spanned by the node is read.
+     *
+     * @param node an object value of a document parsed with {@link JsonNode#parse(String)}
+     * @return an object populated with data from the node
+     * @throws MapperException if deserialization fails
+     */
+    default T toObject(JsonNode node) throws MapperException {
+        return toObject(node.toJson());
+    }
+
+    /**
+     * Lazily binds the elements of a top-level JSON array read from a UTF-8 stream.
+     * Each element is bound when the stream pulls it, so arrays of any length are processed in constant memory.
+     * Failures while reading elements are thrown as {@link UncheckedMapperException}. The input is not closed.
+     *
+     * @param utf8 the stream of a UTF-8 encoded JSON array
+     * @return a sequential, ordered stream of the bound elements
+     * @throws MapperException if the input does not start with a JSON array
+     */
+    Stream<T> iterate(InputStream utf8) throws MapperException;
+
+    /**
+     * Lazily binds the elements of a top-level JSON array read from a character stream.
+     *
+     * @param reader the character stream of a JSON array
+     * @return a sequential, ordered stream of the bound elements
+     * @throws MapperException if the input does not start with a JSON array
+     * @see #iterate(InputStream)
+     */
+    Stream<T> iterate(Reader reader) throws MapperException;
+
+    /**
+     * Lazily binds the elements of a top-level JSON array of a UTF-8 file mapped into memory.
+     * The file may be larger than 2 GB. It stays mapped until the returned stream is closed, so use it
+     * in a try-with-resources statement.
+     *
+     * @param path the path of a UTF-8 encoded JSON file holding an array
+     * @return a sequential, ordered stream of the bound elements that unmaps the file when closed
+     * @throws MapperException if the file cannot be read or does not start with a JSON array
+     * @see #toObject(Path)
+     */
+    Stream<T> iterate(Path path) throws MapperException;
+
+    /**
+     * Converts a batch of JSON documents, decoding them in parallel on the common fork/join pool.
+     *
+     * @param jsons the JSON documents to convert
+     * @return an unmodifiable list of the converted objects, in the order of {@code jsons}
+     * @throws MapperException if any document fails to convert
+     */
+    List<T> toObjects(List<String> jsons) throws MapperException;
+
+    /**
+     * Converts a newline-delimited JSON (JSON Lines) file, one document per line, decoding the lines
+     * in parallel on the common fork/join pool. Blank lines are ignored. The file is mapped into memory
+     * rather than read onto the heap, so it may be larger than 2 GB.
+     *
+     * @param jsonLines the path of a UTF-8 encoded JSON Lines file
+     * @return an unmodifiable list of the converted objects, in line order
+     * @throws MapperException if the file cannot be read or any line fails to convert
+     */
+    List<T> toObjects(Path jsonLines) throws MapperException;
 }
@@ -0,0 +1,19 @@
+package com.reftch.json.parser;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a record or class for which the optional {@code processor} module generates a mapper at compile
+ * time, so binding it needs no reflection.
+ * 
+ * {@link MapperFactory#createMapper(Class)} picks the generated mapper up through {@link java.util.ServiceLoader}
+ * and falls back to reflection for classes without one.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateMapper {
+
+}
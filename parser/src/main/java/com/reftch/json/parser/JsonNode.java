@@ -0,0 +1,95 @@
+package com.reftch.json.parser;
+
+import java.util.List;
+
+import com.reftch.json.parser.impl.JsonTree;
+
+/**
+ * A read-only view of a value in a parsed JSON document.
+ *
+ * Parsing only records the offsets of the tokens and the extent of every object and array.
+ * Nodes are created as they are navigated to, and strings and numbers are decoded when they are read,
+ * so inspecting a few fields of a large document costs little more than one scan of it.
+ * A subtree can be bound to an object with {@link Deserializer#toObject(JsonNode)}, which reads only
+ * the subtree's part of the source.
+ *
+ * Accessors that decode a value throw {@link UncheckedMapperException} for malformed escapes and
+ * {@link NumberFormatException} for numbers out of range of the requested type.
+ */
+public interface JsonNode {
+
+    enum Type {
+        OBJECT, ARRAY, STRING, NUMBER, BOOLEAN, NULL
+    }
+
+    /**
+     * Indexes a JSON document held in a String.
+     *
+     * @param json the JSON document
+     * @return the root value of the document
+     * @throws MapperException if the document is not well-formed JSON
+     */
+    static JsonNode parse(String json) throws MapperException {
+        return JsonTree.parse(json);
+    }
+
+    /**
+     * Indexes a UTF-8 encoded JSON document; strings are only decoded when they are read.
+     *
+     * @param utf8 the UTF-8 encoded JSON document
+     * @return the root value of the document
+     * @throws MapperException if the document is not well-formed JSON
+     */
+    static JsonNode parse(byte[] utf8) throws MapperException {
+        return JsonTree.parse(utf8);
+    }
+
+    Type type();
+
+    /**
+     * @return the number of members of an object or elements of an array, 0 for any other value
+     */
+    int size();
+
+    /**
+     * @param name the name of a member
+     * @return the value of the first member with that name, or {@code null} if there is none or this is not an object
+     */
+    JsonNode get(String name);
+
+    /**
+     * @param index the position of an element
+     * @return the element at that position, or {@code null} if it is out of range or this is not an array
+     */
+    JsonNode get(int index);
+
+    /**
+     * @return the member names of an object in document order, an empty list for any other value
+     */
+    List<String> names();
+
+    /**
+     * @return the elements of an array or the member values of an object in document order,
+     *         an empty list for any other value
+     */
+    List<JsonNode> elements();
+
+    /**
+     * @return the content of a string, or the literal of a number or boolean
+     * @throws IllegalStateException if this is an object, an array or null
+     */
+    String asString();
+
+    int asInt();
+
+    long asLong();
+
+    double asDouble();
+
+    boolean asBoolean();
+
+    /**
+     * @return the source text of this value, exactly as it appears in the document
+     */
+    String toJson();
+}
@@ -1,15 +1,51 @@
 package com.reftch.json.parser;
 
-import com.reftch.json.parser.impl.MapperImpl;
+import com.reftch.json.parser.impl.Mappers;
 
+/**
+ * Entry point for obtaining mappers.
+ *
+ * Mappers are immutable and thread-safe. The factory keeps one mapper per class and binding and hands
+ * the same instance to every caller, so looking a mapper up on each call is as cheap as keeping it.
+ * The properties of a class are its instance fields; static and synthetic fields are neither written nor
+ * read. When reading, members of a JSON object that match no property of a record or class are skipped.
+ */
 public class MapperFactory {
     /**
-     * Creates a complete JSON mapper with both serializer and deserializer capabilities
+     * Returns the shared JSON mapper of a class with both serializer and deserializer capabilities
      ¸* 
      * @param <T> the type to map
      * @return a JsonMapper instance that can handle both serialization and deserialization
      */
     public static <T> Mapper<T> createMapper(Class<T> clazz) {
-        return new MapperImpl<>(clazz);
+        return Mappers.of(clazz, Binding.REFLECTION);
+    }
+
+    /**
+     * Returns the shared JSON mapper of a class that binds it the given way
+     *
+     * @param <T> the type to map
+     * @param binding how properties of {@code clazz} are read and written
+     * @return a JsonMapper instance that can handle both serialization and deserialization
+     */
+    public static <T> Mapper<T> createMapper(Class<T> clazz, Binding binding) {
+        return Mappers.of(clazz, binding);
+    }
+
+    /**
+     * Creates a JSON mapper that reads only the given properties of a class
+     *
+     * Members of the JSON object that are not projected are skipped without being decoded, and reading
+     * an object stops as soon as every projected property has been read. Properties that are not
+     * projected keep their default value; writing is not projected. Unlike the shared mappers, every
+     * call creates a new mapper, so create a projection once and reuse it.
+     *
+     * @param <T> the type to map
+     * @param properties names of the record components or fields to read
+     * @return a JsonMapper instance that binds only {@code properties} when deserializing
+     * @throws IllegalArgumentException if no property is given or one is not a property of {@code clazz}
+     */
+    public static <T> Mapper<T> createProjection(Class<T> clazz, String... properties) {
+        return Mappers.projection(clazz, properties);
     }
 }
@@ -1,5 +1,9 @@
 package com.reftch.json.parser;
 
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.WritableByteChannel;
+
 public sealed interface Serializer<T> permits Mapper {
     /**
      * Converts an object to its JSON representation
@@ -9,4 +13,69 @@ public sealed interface Serializer<T> permits Mapper {
      * @throws MapperException if serialization fails
      */
     String toJson(T object) throws MapperException;
+
+    /**
+     * Writes the JSON representation of an object to the given appendable
+     *
+     * @param object the object to convert to JSON
+     * @param out    the appendable that receives the JSON text
+     * @throws MapperException if serialization or writing to {@code out} fails
+     */
+    void toJson(T object, Appendable out) throws MapperException;
+
+    /**
+     * Appends the JSON representation of an object to the given builder
+     *
+     * @param object the object to convert to JSON
+     * @param out    the builder that receives the JSON text
+     * @throws MapperException if serialization fails
+     */
+    default void toJson(T object, StringBuilder out) throws MapperException {
+        toJson(object, (Appendable) out);
+    }
+
+    /**
+     * Writes the JSON representation of an object to the given stream as UTF-8
+     *
+     * The output is encoded into a reusable buffer and handed to the stream in chunks; the stream is
+     * neither flushed nor closed.
+     *
+     * @param object the object to convert to JSON
+     * @param out    the stream that receives the UTF-8 bytes
+     * @throws MapperException if serialization or writing to {@code out} fails
+     */
+    void toJson(T object, OutputStream out) throws MapperException;
+
+    /**
+     * Writes the JSON representation of an object to the given channel as UTF-8
+     *
+     * The output is encoded into a reusable buffer and handed to the channel in chunks; the channel is
+     * not closed.
+     *
+     * @param object the object to convert to JSON
+     * @param out    the channel that receives the UTF-8 bytes
+     * @throws MapperException if serialization or writing to {@code out} fails
+     */
+    void toJson(T object, WritableByteChannel out) throws MapperException;
+
+    /**
+     * Writes the JSON representation of an object to the given print stream as text, in the charset of
+     * the print stream
+     *
+     * @param object the object to convert to JSON
+     * @param out    the print stream that receives the JSON text
+     * @throws MapperException if serialization or writing to {@code out} fails
+     */
+    default void toJson(T object, PrintStream out) throws MapperException {
+        toJson(object, (Appendable) out);
+    }
+
+    /**
+     * Converts an object to its JSON representation encoded as UTF-8
+     *
+     * @param object the object to convert to JSON
+     * @return UTF-8 bytes of the JSON representation of the object
+     * @throws MapperException if serialization fails
+     */
+    byte[] toJsonBytes(T object) throws MapperException;
 }
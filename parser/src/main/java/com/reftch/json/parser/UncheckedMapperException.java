@@ -0,0 +1,17 @@
+package com.reftch.json.parser;
+
+/**
+ * Wraps a {@link MapperException} where a checked exception cannot be thrown,
+ * such as while consuming a lazily bound {@link java.util.stream.Stream} or {@link java.util.Iterator}.
+ */
+public class UncheckedMapperException extends RuntimeException {
+
+    public UncheckedMapperException(MapperException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized MapperException getCause() {
+        return (MapperException) super.getCause();
+    }
+}
@@ -1,225 +1,186 @@
 package com.reftch.json.parser.impl;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.RecordComponent;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import com.reftch.json.parser.MapperException;
 
 abstract class AbstractDeserializer<T> {
 
-    @SuppressWarnings("unchecked")
-    protected Constructor<T> findRecordConstructor(Class<?> recordClass) {
-        if (!recordClass.isRecord()) {
-            throw new IllegalArgumentException("Class is not a record: " + recordClass.getName());
-        }
-
-        // Get all record components
-        RecordComponent[] components = recordClass.getRecordComponents();
-        Class<?>[] paramTypes = Arrays.stream(components)
-                .map(RecordComponent::getType)
-                .toArray(Class<?>[]::new);
-
-        // Find the constructor with matching parameter types
-        try {
-            return (Constructor<T>) recordClass.getDeclaredConstructor(paramTypes);
-        } catch (NoSuchMethodException e) {
-            throw new RuntimeException("No canonical constructor found for record: " +
-                    recordClass.getName(), e);
+    /**
+     * Binds the next object, or {@code null}, to an instance of the model's class.
+     * Nested objects are bound recursively through the models of their own classes.
+     */
+    protected <R> R readObject(JsonReader reader, ClassModel<R> model) throws MapperException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
         }
+        return switch (model) {
+            case ClassModel<R> m when m.isRecord() -> toObjectForRecord(reader, m);
+            default -> toObjectForRegularClass(reader, model);
+        };
     }
 
-    protected Map<String, String> parseFieldValues(String json) {
-        var fieldValues = new HashMap<String, String>();
-
-        if (json.isEmpty() || !json.startsWith("{") || !json.endsWith("}")) {
-            return fieldValues;
-        }
-
-        // Remove outer braces
-        var content = json.substring(1, json.length() - 1).trim();
-        if (content.isEmpty()) {
-            return fieldValues;
-        }
-
-        // Split by commas, but be careful with nested objects
-        var pairs = splitJsonFields(json);
-
-        for (String pair : pairs) {
-            pair = pair.trim();
-            if (pair.isEmpty())
+    private <R> R toObjectForRecord(JsonReader reader, ClassModel<R> model) throws MapperException {
+        int size = model.properties().length;
+        Object[] references = new Object[size];
+        long[] primitives = new long[size];
+
+        // Bind field values straight from the token stream into the constructor slots
+        reader.beginObject();
+        while (reader.hasNext()) {
+            var property = model.nextProperty(reader);
+            if (property == null) {
+                reader.skipValue();
                 continue;
-
-            int colonIndex = pair.indexOf(':');
-            if (colonIndex > 0) {
-                // trim whitespaces
-                var key = pair.substring(0, colonIndex).replaceAll("\\s+", "");
-                // Remove quotes from key
-                key = key.replaceAll("^\"|\"$", "");
-
-                var valueStr = pair.substring(colonIndex + 1).trim();
-                fieldValues.put(key, valueStr);
             }
+            readSlot(reader, property, references, primitives);
         }
+        reader.endObject();
 
-        return fieldValues;
+        return model.newRecord(references, primitives);
     }
 
-    private String[] splitJsonFields(String json) {
-        // Trim outer braces if present
-        json = json.trim();
-        if (json.startsWith("{") && json.endsWith("}")) {
-            json = json.substring(1, json.length() - 1);
+    private <R> R toObjectForRegularClass(JsonReader reader, ClassModel<R> model) throws MapperException {
+        if (!model.isInstantiable()) {
+            throw new MapperException("No default constructor found for class: " + model.type().getName());
         }
 
-        var fields = new ArrayList<>();
-        var start = 0;
-        var braceCount = 0;
-        var bracketCount = 0;
-        var inQuotes = false;
+        R object = model.newInstance();
 
-        for (int i = 0; i < json.length(); i++) {
-            var c = json.charAt(i);
-
-            // Handle quote toggling
-            if (c == '"' && (i == 0 || json.charAt(i - 1) != '\\')) {
-                inQuotes = !inQuotes;
-            }
-
-            if (!inQuotes) {
-                switch (c) {
-                    case '{' -> braceCount++;
-                    case '}' -> braceCount--;
-                    case '[' -> bracketCount++;
-                    case ']' -> bracketCount--;
-                    case ',' -> {
-                        if (braceCount == 0 && bracketCount == 0) {
-                            fields.add(json.substring(start, i).trim());
-                            start = i + 1;
-                        }
-                    }
-                }
+        // Bind field values straight from the token stream
+        reader.beginObject();
+        while (reader.hasNext()) {
+            var property = model.nextProperty(reader);
+            if (property == null) {
+                reader.skipValue();
+                continue;
             }
+            readField(reader, property, object);
         }
+        reader.endObject();
+        return object;
+    }
 
-        if (start < json.length()) {
-            fields.add(json.substring(start).trim());
+    /**
+     * Reads the next value into the slot of a record component: primitives go to {@code primitives}
+     * without boxing (floating point as raw bits), everything else to {@code references}.
+     */
+    protected void readSlot(JsonReader reader, Property property, Object[] references, long[] primitives)
+            throws MapperException {
+        int i = property.index();
+        switch (property.kind()) {
+            case BOOLEAN -> primitives[i] = reader.nextBoolean() ? 1 : 0;
+            case BYTE -> primitives[i] = reader.nextByte();
+            case SHORT -> primitives[i] = reader.nextShort();
+            case CHAR -> primitives[i] = reader.nextChar();
+            case INT -> primitives[i] = reader.nextInt();
+            case LONG -> primitives[i] = reader.nextLong();
+            case FLOAT -> primitives[i] = Float.floatToRawIntBits(reader.nextFloat());
+            case DOUBLE -> primitives[i] = Double.doubleToRawLongBits(reader.nextDouble());
+            case OBJECT -> references[i] = readProperty(reader, property);
         }
-
-        return fields.toArray(String[]::new);
     }
 
-    protected Object convertValue(String valueStr, Class<?> targetType) throws MapperException {
-        if (valueStr.equals("null")) {
-            return null;
+    /**
+     * Reads the next value straight into a field of {@code target} through its typed setter.
+     */
+    protected void readField(JsonReader reader, Property property, Object target) throws MapperException {
+        switch (property.kind()) {
+            case BOOLEAN -> property.setBoolean(target, reader.nextBoolean());
+            case BYTE -> property.setByte(target, reader.nextByte());
+            case SHORT -> property.setShort(target, reader.nextShort());
+            case CHAR -> property.setChar(target, reader.nextChar());
+            case INT -> property.setInt(target, reader.nextInt());
+            case LONG -> property.setLong(target, reader.nextLong());
+            case FLOAT -> property.setFloat(target, reader.nextFloat());
+            case DOUBLE -> property.setDouble(target, reader.nextDouble());
+            case OBJECT -> property.set(target, readProperty(reader, property));
         }
+    }
 
-        // Handle arrays
-        if (valueStr.startsWith("[") && valueStr.endsWith("]")) {
-            return convertArray(valueStr, targetType);
+    protected Object readProperty(JsonReader reader, Property property) throws MapperException {
+        if (property.codec() != null) {
+            return property.codec().read(reader);
         }
-
-        // Remove surrounding quotes if present
-        if (valueStr.startsWith("\"") && valueStr.endsWith("\"")) {
-            valueStr = valueStr.substring(1, valueStr.length() - 1);
-            valueStr = unescapeJsonString(valueStr);
+        if (property.isContainer()) {
+            throw new MapperException("Unsupported type of field: " + property.name() + " (" + property.genericType() + ")");
         }
+        return readValue(reader, property.type());
+    }
 
-        return switch (targetType) {
-            case Class<?> t when t == String.class -> valueStr;
-            case Class<?> t when t == int.class || t == Integer.class -> Integer.parseInt(valueStr);
-            case Class<?> t when t == long.class || t == Long.class -> Long.parseLong(valueStr);
-            case Class<?> t when t == double.class || t == Double.class -> Double.parseDouble(valueStr);
-            case Class<?> t when t == float.class || t == Float.class -> Float.parseFloat(valueStr);
-            case Class<?> t when t == boolean.class || t == Boolean.class -> Boolean.parseBoolean(valueStr);
-            case Class<?> t when t == short.class || t == Short.class -> Short.parseShort(valueStr);
-            case Class<?> t when t == byte.class || t == Byte.class -> Byte.parseByte(valueStr);
-            case Class<?> t when t == char.class || t == Character.class -> valueStr.charAt(0);
-            default -> {
-                // For complex objects, you might want to parse recursively
-                yield valueStr;
+    protected Object readValue(JsonReader reader, Class<?> targetType) throws MapperException {
+        return switch (reader.peek()) {
+            case NULL -> {
+                reader.nextNull();
+                yield null;
             }
+            case BEGIN_ARRAY -> targetType.isArray() ? readArray(reader, targetType) : reader.nextRawValue();
+            case STRING -> targetType == byte[].class ? PrimitiveArrays.readBytes(reader)
+                    // Object, CharSequence, Serializable and the like take the decoded string
+                    : targetType.isAssignableFrom(String.class) ? reader.nextString()
+                    : readScalar(reader, targetType);
+            case BEGIN_OBJECT -> ClassModel.isBindable(targetType)
+                    ? Codecs.of(targetType).read(reader)
+                    : reader.nextRawValue();
+            default -> readScalar(reader, targetType);
         };
     }
 
-    private Object convertArray(String arrayStr, Class<?> targetType) throws MapperException {
-        Class<?> componentType = targetType.getComponentType();
-        String[] elements = parseArrayElements(arrayStr);
-
-        // Create array of the appropriate type
-        Object result = Array.newInstance(componentType, elements.length);
-
-        // Populate the array with converted values
-        for (int i = 0; i < elements.length; i++) {
-            Object convertedValue = convertValue(elements[i], componentType);
-            Array.set(result, i, convertedValue);
-        }
-
-        return result;
+    private Object readScalar(JsonReader reader, Class<?> targetType) throws MapperException {
+        return switch (targetType) {
+            case Class<?> t when t == String.class -> reader.nextString();
+            case Class<?> t when t == int.class || t == Integer.class -> reader.nextInt();
+            case Class<?> t when t == long.class || t == Long.class -> reader.nextLong();
+            case Class<?> t when t == double.class || t == Double.class -> reader.nextDouble();
+            case Class<?> t when t == float.class || t == Float.class -> reader.nextFloat();
+            case Class<?> t when t == boolean.class || t == Boolean.class -> reader.nextBoolean();
+            case Class<?> t when t == short.class || t == Short.class -> reader.nextShort();
+            case Class<?> t when t == byte.class || t == Byte.class -> reader.nextByte();
+            case Class<?> t when t == char.class || t == Character.class -> reader.nextChar();
+            case Class<?> t when t.isEnum() -> enumValue(t, reader.nextString());
+            default -> reader.nextRawValue();
+        };
     }
 
-    private String[] parseArrayElements(String arrayStr) {
-        arrayStr = arrayStr.trim();
-        if (arrayStr.startsWith("[") && arrayStr.endsWith("]")) {
-            arrayStr = arrayStr.substring(1, arrayStr.length() - 1).trim();
-        }
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object enumValue(Class<?> type, String name) {
+        return Enum.valueOf((Class<? extends Enum>) type, name);
+    }
 
-        if (arrayStr.isEmpty()) {
-            return new String[0];
+    private Object readArray(JsonReader reader, Class<?> targetType) throws MapperException {
+        Class<?> componentType = targetType.getComponentType();
+        if (componentType.isPrimitive()) {
+            return PrimitiveArrays.read(reader, componentType);
         }
 
-        List<String> elements = new ArrayList<>();
-        int start = 0;
-        int bracketCount = 0;
-        boolean inQuotes = false;
-
-        for (int i = 0; i < arrayStr.length(); i++) {
-            char c = arrayStr.charAt(i);
+        var elements = new ArrayList<>();
 
-            if (c == '"' && (i == 0 || arrayStr.charAt(i - 1) != '\\')) {
-                inQuotes = !inQuotes;
-            }
-
-            if (!inQuotes) {
-                switch (c) {
-                    case '[' -> bracketCount++;
-                    case ']' -> bracketCount--;
-                }
-            }
-
-            if (c == ',' && bracketCount == 0) {
-                elements.add(arrayStr.substring(start, i).trim());
-                start = i + 1;
-            }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            elements.add(readValue(reader, componentType));
         }
+        reader.endArray();
 
-        elements.add(arrayStr.substring(start).trim());
-        return elements.toArray(String[]::new);
+        // Create array of the appropriate type
+        return elements.toArray((Object[]) Array.newInstance(componentType, elements.size()));
     }
 
-    protected List<Object> parseToList(String arrayStr, Class<?> clazz) throws MapperException {
-        var elements = parseArrayElements(arrayStr);
-        var list = new ArrayList<>();
+    protected List<Object> readList(JsonReader reader, Class<?> clazz) throws MapperException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
 
-        for (String element : elements) {
-            list.add(convertValue(element, clazz)); // fallback to string for now
+        var list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            list.add(readValue(reader, clazz));
         }
+        reader.endArray();
 
         return list;
     }
-
-    private String unescapeJsonString(String str) {
-        return str.replace("\\\"", "\"")
-                .replace("\\\\", "\\")
-                .replace("\\b", "\b")
-                .replace("\\f", "\f")
-                .replace("\\n", "\n")
-                .replace("\\r", "\r")
-                .replace("\\t", "\t");
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.reftch.json.parser.impl;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free pool of writer buffers.
+ *
+ * Buffers live in a small array of slots. A thread starts probing at a slot derived from its id, so
+ * concurrent callers mostly touch different slots, and takes or returns buffers with a single
+ * compare-and-set. When the probed slots are all empty a new set of buffers is allocated, and when they
+ * are all full a returned set is dropped, so the pool never holds more than one set per slot. Buffers
+ * that have grown past {@link #MAX_RETAINED_SIZE} chars are dropped instead of pooled, so one huge
+ * document does not pin its memory for the life of the application.
+ */
+final class BufferPool implements BufferRecycler {
+    static final int MAX_RETAINED_SIZE = 256 * 1024;
+    private static final int PROBES = 4;
+
+    private final AtomicReferenceArray<Buffers> slots;
+    private final int mask;
+
+    BufferPool() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    BufferPool(int minSlots) {
+        int size = Integer.highestOneBit(Math.max(PROBES, minSlots) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public Buffers acquire() {
+        int start = start();
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (start + i) & mask;
+            var buffers = slots.getPlain(slot);
+            if (buffers != null && slots.compareAndSet(slot, buffers, null)) {
+                buffers.text.setLength(0);
+                return buffers;
+            }
+        }
+        return new Buffers();
+    }
+
+    @Override
+    public void release(Buffers buffers) {
+        if (buffers.retainedSize() > MAX_RETAINED_SIZE) {
+            return;
+        }
+        int start = start();
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (start + i) & mask;
+            if (slots.getPlain(slot) == null && slots.compareAndSet(slot, null, buffers)) {
+                return;
+            }
+        }
+    }
+
+    private static int start() {
+        long id = Thread.currentThread().threadId();
+        return (int) (id * 0x9E3779B97F4A7C15L >>> 40);
+    }
+}
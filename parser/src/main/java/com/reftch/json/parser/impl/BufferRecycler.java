@@ -0,0 +1,34 @@
+package com.reftch.json.parser.impl;
+
+/**
+ * Strategy for reusing the working buffers of the serializer between calls.
+ *
+ * The strategy is chosen once through the {@code com.reftch.json.buffers} system property:
+ * {@code pool}, the default, keeps warm buffers in a {@link BufferPool} shared by all threads;
+ * {@code none} allocates fresh buffers for every call. Neither is tied to the calling thread,
+ * so both behave the same on platform and virtual threads.
+ */
+interface BufferRecycler {
+    BufferRecycler INSTANCE = "none".equals(System.getProperty("com.reftch.json.buffers"))
+            ? new BufferRecycler() {
+                @Override
+                public Buffers acquire() {
+                    return new Buffers();
+                }
+
+                @Override
+                public void release(Buffers buffers) {
+                }
+            }
+            : new BufferPool();
+
+    /**
+     * Returns buffers for the exclusive use of the caller until they are released, with empty text.
+     */
+    Buffers acquire();
+
+    /**
+     * Hands buffers back; the caller must not use them afterwards.
+     */
+    void release(Buffers buffers);
+}
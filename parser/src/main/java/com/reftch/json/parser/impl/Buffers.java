@@ -0,0 +1,24 @@
+package com.reftch.json.parser.impl;
+
+/**
+ * The working buffers of one {@link JsonWriter}: the text being built, scratch space for number digits,
+ * the chunk that buffered text is copied through when flushing to a {@link java.io.Writer}, and the
+ * UTF-8 bytes of a {@link Utf8JsonWriter}.
+ *
+ * Instances are recycled between writes by a {@link BufferRecycler} and used by one writer at a time.
+ */
+final class Buffers {
+    static final int INITIAL_CAPACITY = JsonWriter.FLUSH_THRESHOLD + JsonWriter.FLUSH_THRESHOLD / 4;
+
+    final StringBuilder text = new StringBuilder(INITIAL_CAPACITY);
+    final char[] digits = new char[NumberWriter.MAX_CHARS];
+    char[] chunk;
+    byte[] bytes;
+
+    /**
+     * Number of chars the buffers currently hold on to, counting two bytes as one char.
+     */
+    int retainedSize() {
+        return text.capacity() + (chunk == null ? 0 : chunk.length) + (bytes == null ? 0 : bytes.length / 2);
+    }
+}
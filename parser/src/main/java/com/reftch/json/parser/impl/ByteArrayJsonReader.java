@@ -0,0 +1,25 @@
+package com.reftch.json.parser.impl;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link JsonReader} over UTF-8 bytes held in a heap array.
+ */
+final class ByteArrayJsonReader extends JsonReader {
+    private final byte[] bytes;
+
+    ByteArrayJsonReader(byte[] bytes, int start, int end) {
+        super(start, end);
+        this.bytes = bytes;
+    }
+
+    @Override
+    protected int at(int i) {
+        return bytes[i] & 0xFF;
+    }
+
+    @Override
+    protected String text(int start, int end) {
+        return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,36 @@
+package com.reftch.json.parser.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link JsonReader} over UTF-8 bytes of a direct {@link ByteBuffer}.
+ *
+ * The buffer is read with absolute gets, so its position is left untouched and its content is
+ * never copied to the heap as a whole; only the bytes of string values that are read get copied
+ * into a reusable scratch array for decoding.
+ */
+final class ByteBufferJsonReader extends JsonReader {
+    private final ByteBuffer buffer;
+    private byte[] scratch = new byte[64];
+
+    ByteBufferJsonReader(ByteBuffer buffer) {
+        super(buffer.position(), buffer.limit());
+        this.buffer = buffer;
+    }
+
+    @Override
+    protected int at(int i) {
+        return buffer.get(i) & 0xFF;
+    }
+
+    @Override
+    protected String text(int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,354 @@
+package com.reftch.json.parser.impl;
+
+import java.lang.classfile.ClassBuilder;
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.Label;
+import java.lang.classfile.instruction.SwitchCase;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.ConstantDescs;
+import java.lang.constant.DynamicConstantDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resolves the {@link ObjectCodec} of a class for {@link com.reftch.json.parser.Binding#BYTECODE}.
+ *
+ * On first use of a class without a compile-time mapper, a {@link GeneratedMapper} subclass is emitted
+ * with the ClassFile API and defined as a hidden nestmate of the class, so it reads and writes even private
+ * fields with plain {@code getfield}/{@code putfield}, calls the record constructor directly and dispatches
+ * on property indexes with a {@code tableswitch}. The hidden class is unloaded together with its class.
+ *
+ * Classes that cannot be generated keep the reflective codec: regular classes with final fields or without
+ * a no-arg constructor, list properties without an element type, and classes whose package is not open
+ * to this library.
+ */
+final class BytecodeCodecs {
+    private static final String SUFFIX = "$JsonMapper";
+
+    private static final ClassDesc CD_GENERATED_MAPPER = ClassDesc.of(GeneratedMapper.class.getName());
+    private static final ClassDesc CD_JSON_INPUT = ClassDesc.of(JsonInput.class.getName());
+    private static final ClassDesc CD_JSON_OUTPUT = ClassDesc.of(JsonOutput.class.getName());
+    private static final ClassDesc CD_LIST = ClassDesc.of(List.class.getName());
+    private static final ClassDesc CD_BYTES = ConstantDescs.CD_byte.arrayType();
+
+    private static final ClassCache<ObjectCodec<?>> CODECS = new ClassCache<>(BytecodeCodecs::create);
+
+    private BytecodeCodecs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> ObjectCodec<T> of(Class<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Class cannot be null");
+        }
+        return (ObjectCodec<T>) CODECS.get(type);
+    }
+
+    /**
+     * Creates the codec of one class on its first request; the class cache runs this exactly once per class.
+     */
+    private static <T> ObjectCodec<T> create(Class<T> type) {
+        var codec = Codecs.of(type);
+        if (!(codec instanceof ReflectiveCodec<T>) || !isGeneratable(type)) {
+            return codec;
+        }
+        try {
+            return define(ClassModel.of(type)).codec();
+        } catch (ReflectiveOperationException | LinkageError | IllegalArgumentException e) {
+            return codec;
+        }
+    }
+
+    private static boolean isGeneratable(Class<?> type) {
+        if (!ClassModel.isBindable(type) || type.isHidden() || type.getClassLoader() == null) {
+            return false;
+        }
+        var model = ClassModel.of(type);
+        for (var property : model.properties()) {
+            // Other containers and generic arrays are bound through the codec tree of the reflective codec
+            if ((property.isContainer() || property.codec() != null) && property.elementType() == null) {
+                return false;
+            }
+        }
+        if (model.isRecord()) {
+            return true;
+        }
+        try {
+            type.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+        for (var property : model.properties()) {
+            try {
+                if (Modifier.isFinal(type.getDeclaredField(property.name()).getModifiers())) {
+                    return false;
+                }
+            } catch (NoSuchFieldException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> GeneratedMapper<T> define(ClassModel<T> model) throws ReflectiveOperationException {
+        var type = model.type();
+        var lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        byte[] bytes = ClassFile.of().build(ClassDesc.of(type.getName() + SUFFIX), cb -> generate(cb, model));
+        // The UTF-8 property names are class data, loaded by write() as constants
+        var names = Arrays.stream(model.properties()).map(Property::jsonNameUtf8).toList();
+        var hidden = lookup.defineHiddenClassWithClassData(bytes, names, true, MethodHandles.Lookup.ClassOption.NESTMATE)
+                .lookupClass();
+        return (GeneratedMapper<T>) hidden.getConstructor().newInstance();
+    }
+
+    private static void generate(ClassBuilder cb, ClassModel<?> model) {
+        cb.withFlags(ClassFile.ACC_PUBLIC | ClassFile.ACC_FINAL | ClassFile.ACC_SUPER | ClassFile.ACC_SYNTHETIC)
+                .withSuperclass(CD_GENERATED_MAPPER)
+                .withMethodBody(ConstantDescs.INIT_NAME, ConstantDescs.MTD_void, ClassFile.ACC_PUBLIC,
+                        code -> constructor(code, model))
+                .withMethodBody("read", MethodTypeDesc.of(ConstantDescs.CD_Object, CD_JSON_INPUT),
+                        ClassFile.ACC_PROTECTED, code -> read(code, model))
+                .withMethodBody("write", MethodTypeDesc.of(ConstantDescs.CD_void, ConstantDescs.CD_Object, CD_JSON_OUTPUT),
+                        ClassFile.ACC_PROTECTED, code -> write(code, model));
+    }
+
+    /**
+     * {@code super(Type.class, new String[] { names... })}
+     */
+    private static void constructor(CodeBuilder code, ClassModel<?> model) {
+        var properties = model.properties();
+        code.aload(0)
+                .loadConstant(desc(model.type()))
+                .loadConstant(properties.length)
+                .anewarray(ConstantDescs.CD_String);
+        for (int i = 0; i < properties.length; i++) {
+            code.dup()
+                    .loadConstant(i)
+                    .loadConstant(properties[i].name())
+                    .aastore();
+        }
+        code.invokespecial(CD_GENERATED_MAPPER, ConstantDescs.INIT_NAME,
+                MethodTypeDesc.of(ConstantDescs.CD_void, ConstantDescs.CD_Class, ConstantDescs.CD_String.arrayType()))
+                .return_();
+    }
+
+    /**
+     * Reads an object property by property: each value goes straight into a local slot (records) or
+     * field (classes) selected by a {@code tableswitch} on the index of its name.
+     */
+    private static void read(CodeBuilder code, ClassModel<?> model) {
+        var type = desc(model.type());
+        var properties = model.properties();
+        boolean record = model.isRecord();
+
+        // local 0 is this, 1 the input; records keep one local per component, classes the instance
+        var slots = new int[properties.length];
+        int object = 2;
+        if (record) {
+            int next = 2;
+            for (int i = 0; i < properties.length; i++) {
+                slots[i] = next;
+                next += isWide(properties[i]) ? 2 : 1;
+                storeDefault(code, properties[i], slots[i]);
+            }
+        } else {
+            code.new_(type)
+                    .dup()
+                    .invokespecial(type, ConstantDescs.INIT_NAME, ConstantDescs.MTD_void)
+                    .astore(object);
+        }
+
+        var loop = code.newLabel();
+        var unknown = code.newLabel();
+        var end = code.newLabel();
+
+        input(code, "beginObject", ConstantDescs.CD_void);
+        code.labelBinding(loop);
+        input(code, "hasNext", ConstantDescs.CD_boolean);
+        code.ifeq(end)
+                .aload(1)
+                .aload(0)
+                .invokevirtual(CD_JSON_INPUT, "nextName", MethodTypeDesc.of(ConstantDescs.CD_int, CD_GENERATED_MAPPER));
+
+        var cases = new ArrayList<SwitchCase>(properties.length);
+        var labels = new Label[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            labels[i] = code.newLabel();
+            cases.add(SwitchCase.of(i, labels[i]));
+        }
+        if (properties.length > 0) {
+            code.tableswitch(0, properties.length - 1, unknown, cases);
+        } else {
+            code.pop().goto_(unknown);
+        }
+
+        for (int i = 0; i < properties.length; i++) {
+            var property = properties[i];
+            code.labelBinding(labels[i]);
+            if (record) {
+                code.aload(1);
+                readValue(code, property);
+                store(code, property, slots[i]);
+            } else {
+                code.aload(object).aload(1);
+                readValue(code, property);
+                code.putfield(type, property.name(), desc(property.type()));
+            }
+            code.goto_(loop);
+        }
+
+        code.labelBinding(unknown);
+        input(code, "skipValue", ConstantDescs.CD_void);
+        code.goto_(loop);
+
+        code.labelBinding(end);
+        input(code, "endObject", ConstantDescs.CD_void);
+        if (record) {
+            code.new_(type).dup();
+            var parameters = new ClassDesc[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                load(code, properties[i], slots[i]);
+                parameters[i] = desc(properties[i].type());
+            }
+            code.invokespecial(type, ConstantDescs.INIT_NAME, MethodTypeDesc.of(ConstantDescs.CD_void, parameters));
+        } else {
+            code.aload(object);
+        }
+        code.areturn();
+    }
+
+    /**
+     * Calls the typed read of the input for a property, leaving a value of the property type on the stack.
+     */
+    private static void readValue(CodeBuilder code, Property property) {
+        switch (property.kind()) {
+            case BOOLEAN -> next(code, "nextBoolean", ConstantDescs.CD_boolean);
+            case BYTE -> next(code, "nextByte", ConstantDescs.CD_byte);
+            case SHORT -> next(code, "nextShort", ConstantDescs.CD_short);
+            case CHAR -> next(code, "nextChar", ConstantDescs.CD_char);
+            case INT -> next(code, "nextInt", ConstantDescs.CD_int);
+            case LONG -> next(code, "nextLong", ConstantDescs.CD_long);
+            case FLOAT -> next(code, "nextFloat", ConstantDescs.CD_float);
+            case DOUBLE -> next(code, "nextDouble", ConstantDescs.CD_double);
+            case OBJECT -> {
+                var type = property.type();
+                if (type == String.class) {
+                    next(code, "nextString", ConstantDescs.CD_String);
+                } else if (property.elementType() != null) {
+                    code.loadConstant(desc(property.elementType()))
+                            .invokevirtual(CD_JSON_INPUT, "readList", MethodTypeDesc.of(CD_LIST, ConstantDescs.CD_Class))
+                            .checkcast(desc(type));
+                } else {
+                    code.loadConstant(desc(type))
+                            .invokevirtual(CD_JSON_INPUT, "read",
+                                    MethodTypeDesc.of(ConstantDescs.CD_Object, ConstantDescs.CD_Class))
+                            .checkcast(desc(type));
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes an object with one unrolled name and value call per property; each name is passed both as
+     * text and as its UTF-8 bytes, a {@code classDataAt} constant resolved once per class.
+     */
+    private static void write(CodeBuilder code, ClassModel<?> model) {
+        var type = desc(model.type());
+        var properties = model.properties();
+        int value = 3;
+
+        code.aload(1).checkcast(type).astore(value);
+        output(code, "beginObject");
+        for (int i = 0; i < properties.length; i++) {
+            var property = properties[i];
+            if (i > 0) {
+                output(code, "comma");
+            }
+            code.aload(2)
+                    .loadConstant(property.jsonName())
+                    .loadConstant(DynamicConstantDesc.ofNamed(ConstantDescs.BSM_CLASS_DATA_AT, ConstantDescs.DEFAULT_NAME,
+                            CD_BYTES, i))
+                    .invokevirtual(CD_JSON_OUTPUT, "name", MethodTypeDesc.of(ConstantDescs.CD_void, ConstantDescs.CD_String, CD_BYTES))
+                    .aload(2)
+                    .aload(value)
+                    .getfield(type, property.name(), desc(property.type()));
+            writeValue(code, property);
+            output(code, "flushIfFull");
+        }
+        output(code, "endObject");
+        code.return_();
+    }
+
+    private static void writeValue(CodeBuilder code, Property property) {
+        var parameter = switch (property.kind()) {
+            case BOOLEAN -> ConstantDescs.CD_boolean;
+            case BYTE, SHORT, INT -> ConstantDescs.CD_int;
+            case CHAR -> ConstantDescs.CD_char;
+            case LONG -> ConstantDescs.CD_long;
+            case FLOAT -> ConstantDescs.CD_float;
+            case DOUBLE -> ConstantDescs.CD_double;
+            case OBJECT -> property.isBase64() ? desc(byte[].class)
+                    : property.type() == String.class ? ConstantDescs.CD_String : ConstantDescs.CD_Object;
+        };
+        code.invokevirtual(CD_JSON_OUTPUT, property.isBase64() ? "base64" : "value",
+                MethodTypeDesc.of(ConstantDescs.CD_void, parameter));
+    }
+
+    private static void input(CodeBuilder code, String method, ClassDesc returnType) {
+        code.aload(1);
+        next(code, method, returnType);
+    }
+
+    private static void next(CodeBuilder code, String method, ClassDesc returnType) {
+        code.invokevirtual(CD_JSON_INPUT, method, MethodTypeDesc.of(returnType));
+    }
+
+    private static void output(CodeBuilder code, String method) {
+        code.aload(2).invokevirtual(CD_JSON_OUTPUT, method, ConstantDescs.MTD_void);
+    }
+
+    private static void storeDefault(CodeBuilder code, Property property, int slot) {
+        switch (property.kind()) {
+            case LONG -> code.lconst_0();
+            case FLOAT -> code.fconst_0();
+            case DOUBLE -> code.dconst_0();
+            case OBJECT -> code.aconst_null();
+            default -> code.iconst_0();
+        }
+        store(code, property, slot);
+    }
+
+    private static void store(CodeBuilder code, Property property, int slot) {
+        switch (property.kind()) {
+            case LONG -> code.lstore(slot);
+            case FLOAT -> code.fstore(slot);
+            case DOUBLE -> code.dstore(slot);
+            case OBJECT -> code.astore(slot);
+            default -> code.istore(slot);
+        }
+    }
+
+    private static void load(CodeBuilder code, Property property, int slot) {
+        switch (property.kind()) {
+            case LONG -> code.lload(slot);
+            case FLOAT -> code.fload(slot);
+            case DOUBLE -> code.dload(slot);
+            case OBJECT -> code.aload(slot);
+            default -> code.iload(slot);
+        }
+    }
+
+    private static boolean isWide(Property property) {
+        return property.kind() == Property.Kind.LONG || property.kind() == Property.Kind.DOUBLE;
+    }
+
+    private static ClassDesc desc(Class<?> type) {
+        return type.describeConstable().orElseThrow();
+    }
+}
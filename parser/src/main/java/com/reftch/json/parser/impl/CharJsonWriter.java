@@ -0,0 +1,208 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * {@link JsonWriter} that appends JSON text straight into a single character buffer.
+ *
+ * When the target is a {@link StringBuilder} the writer appends to it directly. Without a target the
+ * text stays in the buffer of its {@link Buffers}. Any other {@link Appendable} is handed the buffered
+ * text in chunks by {@link #flushIfFull()} and {@link #flush()}; the write methods themselves never
+ * perform I/O.
+ */
+final class CharJsonWriter extends JsonWriter {
+    private final StringBuilder buffer;
+    private final Appendable out;
+    private final Buffers buffers;
+    private final char[] digits;
+
+    /**
+     * @param out     the target, or {@code null} to keep the text in {@code buffers.text}
+     * @param buffers working buffers, owned by this writer until it is done
+     */
+    CharJsonWriter(Appendable out, Buffers buffers) {
+        this.buffers = buffers;
+        this.digits = buffers.digits;
+        if (out == null || out instanceof StringBuilder) {
+            this.buffer = out == null ? buffers.text : (StringBuilder) out;
+            this.out = null;
+        } else {
+            this.buffer = buffers.text;
+            this.out = out;
+        }
+    }
+
+    @Override
+    void beginObject() {
+        buffer.append('{');
+    }
+
+    @Override
+    void endObject() {
+        buffer.append('}');
+    }
+
+    @Override
+    void beginArray() {
+        buffer.append('[');
+    }
+
+    @Override
+    void endArray() {
+        buffer.append(']');
+    }
+
+    @Override
+    void comma() {
+        buffer.append(',');
+    }
+
+    @Override
+    void name(String jsonName) {
+        buffer.append(jsonName);
+    }
+
+    @Override
+    void key(String name) {
+        value(name);
+        buffer.append(':');
+    }
+
+    @Override
+    void nullValue() {
+        buffer.append("null");
+    }
+
+    @Override
+    void value(boolean value) {
+        buffer.append(value);
+    }
+
+    @Override
+    void value(int value) {
+        buffer.append(value);
+    }
+
+    @Override
+    void value(long value) {
+        buffer.append(value);
+    }
+
+    @Override
+    void value(float value) {
+        buffer.append(digits, 0, NumberWriter.write(value, digits, 0));
+    }
+
+    @Override
+    void value(double value) {
+        buffer.append(digits, 0, NumberWriter.write(value, digits, 0));
+    }
+
+    @Override
+    void value(char value) {
+        buffer.append('"');
+        if (value < 128 && ESCAPES[value] != null) {
+            buffer.append(ESCAPES[value]);
+        } else if (Character.isSurrogate(value)) {
+            unicodeEscape(value);
+        } else {
+            buffer.append(value);
+        }
+        buffer.append('"');
+    }
+
+    @Override
+    void value(String value) {
+        buffer.append('"');
+        int from = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 128) {
+                var escape = ESCAPES[c];
+                if (escape == null) {
+                    continue;
+                }
+                buffer.append(value, from, i).append(escape);
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i++;
+                    continue;
+                }
+                // A lone surrogate has no UTF-8 encoding, so it is written as an escape
+                buffer.append(value, from, i);
+                unicodeEscape(c);
+            } else {
+                continue;
+            }
+            from = i + 1;
+        }
+        buffer.append(value, from, value.length());
+        buffer.append('"');
+    }
+
+    @Override
+    void base64Value(byte[] value) {
+        buffer.ensureCapacity(buffer.length() + 4 * ((value.length + 2) / 3) + 2);
+        buffer.append('"');
+        int i = 0;
+        for (int end = value.length - value.length % 3; i < end; i += 3) {
+            int bits = (value[i] & 0xFF) << 16 | (value[i + 1] & 0xFF) << 8 | value[i + 2] & 0xFF;
+            buffer.append(BASE64_DIGITS[bits >>> 18])
+                    .append(BASE64_DIGITS[bits >>> 12 & 0x3F])
+                    .append(BASE64_DIGITS[bits >>> 6 & 0x3F])
+                    .append(BASE64_DIGITS[bits & 0x3F]);
+        }
+        if (i < value.length) {
+            boolean two = i + 1 < value.length;
+            int bits = (value[i] & 0xFF) << 16 | (two ? (value[i + 1] & 0xFF) << 8 : 0);
+            buffer.append(BASE64_DIGITS[bits >>> 18])
+                    .append(BASE64_DIGITS[bits >>> 12 & 0x3F])
+                    .append(two ? BASE64_DIGITS[bits >>> 6 & 0x3F] : '=')
+                    .append('=');
+        }
+        buffer.append('"');
+    }
+
+    @Override
+    void rawValue(CharSequence value) {
+        buffer.append(value);
+    }
+
+    @Override
+    void flushIfFull() throws IOException {
+        if (out != null && buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    @Override
+    void flush() throws IOException {
+        if (out == null || buffer.isEmpty()) {
+            return;
+        }
+
+        if (out instanceof Writer writer) {
+            // Writer.append(CharSequence) would copy the buffer into a String first
+            int length = buffer.length();
+            var chunk = buffers.chunk;
+            if (chunk == null || chunk.length < length) {
+                buffers.chunk = chunk = new char[Math.max(length, FLUSH_THRESHOLD)];
+            }
+            buffer.getChars(0, length, chunk, 0);
+            writer.write(chunk, 0, length);
+        } else {
+            out.append(buffer);
+        }
+        buffer.setLength(0);
+    }
+
+    private void unicodeEscape(char c) {
+        buffer.append('\\').append('u')
+                .append(HEX_DIGITS[c >>> 12])
+                .append(HEX_DIGITS[c >>> 8 & 0xF])
+                .append(HEX_DIGITS[c >>> 4 & 0xF])
+                .append(HEX_DIGITS[c & 0xF]);
+    }
+}
@@ -0,0 +1,44 @@
+package com.reftch.json.parser.impl;
+
+import java.util.function.Function;
+
+/**
+ * Per-class cache whose value is computed exactly once per class.
+ *
+ * A bare {@link ClassValue} may run {@code computeValue} on each of several racing threads and keep one
+ * result, which would repeat expensive setup. Here racing threads only create empty holders, the class
+ * value publishes one of them, and the value is computed under the lock of that holder. Only the first
+ * creation of a value locks; every later lookup goes through the class value and reads a volatile field
+ * without a lock.
+ */
+final class ClassCache<V> {
+    private final Function<Class<?>, V> factory;
+    private final ClassValue<Holder<V>> holders = new ClassValue<>() {
+        @Override
+        protected Holder<V> computeValue(Class<?> type) {
+            return new Holder<>();
+        }
+    };
+
+    ClassCache(Function<Class<?>, V> factory) {
+        this.factory = factory;
+    }
+
+    V get(Class<?> type) {
+        var holder = holders.get(type);
+        var result = holder.value;
+        if (result == null) {
+            synchronized (holder) {
+                result = holder.value;
+                if (result == null) {
+                    holder.value = result = factory.apply(type);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static final class Holder<V> {
+        private volatile V value;
+    }
+}
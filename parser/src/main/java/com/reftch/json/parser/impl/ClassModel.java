@@ -0,0 +1,226 @@
+package com.reftch.json.parser.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.reftch.json.parser.MapperException;
+
+/**
+ * Immutable binding metadata of a class: its constructor and its ordered properties.
+ *
+ * A model is built exactly once per class and shared by every mapper through a {@link ClassCache},
+ * so reflection is only paid on first use of a type.
+ *
+ * Records are instantiated through a method handle over their canonical constructor that reads
+ * reference components from an {@code Object[]} and primitive components from a {@code long[]}
+ * slot array, so primitive values are never boxed on the way in.
+ */
+final class ClassModel<T> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodHandle OBJECT_SLOT = MethodHandles.arrayElementGetter(Object[].class);
+    private static final MethodHandle PRIMITIVE_SLOT = MethodHandles.arrayElementGetter(long[].class);
+    private static final MethodHandle LONG_BITS_TO_DOUBLE;
+    private static final MethodHandle INT_BITS_TO_FLOAT;
+
+    static {
+        try {
+            LONG_BITS_TO_DOUBLE = LOOKUP.findStatic(Double.class, "longBitsToDouble",
+                    MethodType.methodType(double.class, long.class));
+            INT_BITS_TO_FLOAT = LOOKUP.findStatic(Float.class, "intBitsToFloat",
+                    MethodType.methodType(float.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ClassCache<ClassModel<?>> MODELS = new ClassCache<>(ClassModel::new);
+
+    private final Class<T> type;
+    private final boolean record;
+    private final MethodHandle instantiator;
+    private final Property[] properties;
+    private final NameMatcher names;
+
+    private ClassModel(Class<T> type) {
+        this.type = type;
+        this.record = type.isRecord();
+        this.properties = record ? recordProperties(type) : fieldProperties(type);
+        this.instantiator = record ? recordInstantiator(type, properties) : noArgInstantiator(type);
+        this.names = new NameMatcher(Arrays.stream(properties).map(Property::name).toArray(String[]::new));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> ClassModel<T> of(Class<T> type) {
+        return (ClassModel<T>) MODELS.get(type);
+    }
+
+    /**
+     * Whether values of {@code type} are bound property by property: records and concrete classes
+     * outside the JDK. Everything else is treated as a scalar.
+     */
+    static boolean isBindable(Class<?> type) {
+        if (type.isRecord()) {
+            return true;
+        }
+        return !type.isPrimitive() && !type.isArray() && !type.isEnum() && !type.isInterface()
+                && !Modifier.isAbstract(type.getModifiers()) && !type.getPackageName().startsWith("java.");
+    }
+
+    Class<T> type() {
+        return type;
+    }
+
+    boolean isRecord() {
+        return record;
+    }
+
+    Property[] properties() {
+        return properties;
+    }
+
+    /**
+     * Consumes the next name from {@code reader} and returns the property it refers to, or {@code null}.
+     */
+    Property nextProperty(JsonReader reader) throws MapperException {
+        int index = reader.nextName(names);
+        return index < 0 ? null : properties[index];
+    }
+
+    /**
+     * Whether instances can be created: always for records, only with a no-arg constructor for classes.
+     */
+    boolean isInstantiable() {
+        return instantiator != null;
+    }
+
+    /**
+     * Creates an instance of a regular class through its no-arg constructor.
+     */
+    T newInstance() {
+        try {
+            return type.cast((Object) instantiator.invokeExact());
+        } catch (Throwable e) {
+            throw instantiationError(e);
+        }
+    }
+
+    /**
+     * Creates a record from slot arrays indexed by component position.
+     * Primitive components are read from {@code primitives}; floating point values are stored as raw bits.
+     */
+    T newRecord(Object[] references, long[] primitives) {
+        try {
+            return type.cast((Object) instantiator.invokeExact(references, primitives));
+        } catch (Throwable e) {
+            throw instantiationError(e);
+        }
+    }
+
+    private RuntimeException instantiationError(Throwable e) {
+        return switch (e) {
+            case RuntimeException re -> re;
+            case Error error -> throw error;
+            default -> new IllegalStateException("Cannot instantiate " + type.getName(), e);
+        };
+    }
+
+    private static Property[] recordProperties(Class<?> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        var result = new Property[components.length];
+        for (int i = 0; i < components.length; i++) {
+            var component = components[i];
+            result[i] = new Property(i, component.getName(), component.getType(), component.getGenericType(),
+                    accessibleField(type, component.getName()));
+        }
+        return result;
+    }
+
+    private static Property[] fieldProperties(Class<?> type) {
+        var result = new ArrayList<Property>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+            field.setAccessible(true);
+            result.add(new Property(result.size(), field.getName(), field.getType(), field.getGenericType(), field));
+        }
+        return result.toArray(Property[]::new);
+    }
+
+    private static Field accessibleField(Class<?> type, String name) {
+        try {
+            var field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("No field for record component: " + type.getName() + "." + name, e);
+        }
+    }
+
+    private static MethodHandle recordInstantiator(Class<?> type, Property[] properties) {
+        Class<?>[] paramTypes = Arrays.stream(properties)
+                .map(Property::type)
+                .toArray(Class<?>[]::new);
+
+        Constructor<?> constructor;
+        try {
+            constructor = type.getDeclaredConstructor(paramTypes);
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("No canonical constructor found for record: " + type.getName(), e);
+        }
+
+        try {
+            // (p0, ..., pn) -> R becomes (Object[] | long[], ...) -> R, then (Object[], long[]) -> Object
+            var handle = LOOKUP.unreflectConstructor(constructor);
+            var slots = new MethodHandle[paramTypes.length];
+            var reorder = new int[paramTypes.length];
+            for (int i = 0; i < paramTypes.length; i++) {
+                slots[i] = paramTypes[i].isPrimitive() ? primitiveSlot(paramTypes[i], i) : objectSlot(paramTypes[i], i);
+                reorder[i] = paramTypes[i].isPrimitive() ? 1 : 0;
+            }
+            handle = MethodHandles.filterArguments(handle, 0, slots);
+            handle = MethodHandles.permuteArguments(handle,
+                    MethodType.methodType(type, Object[].class, long[].class), reorder);
+            return handle.asType(MethodType.methodType(Object.class, Object[].class, long[].class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access canonical constructor of record: " + type.getName(), e);
+        }
+    }
+
+    private static MethodHandle objectSlot(Class<?> type, int index) {
+        return MethodHandles.insertArguments(OBJECT_SLOT, 1, index)
+                .asType(MethodType.methodType(type, Object[].class));
+    }
+
+    private static MethodHandle primitiveSlot(Class<?> type, int index) {
+        var slot = MethodHandles.insertArguments(PRIMITIVE_SLOT, 1, index);
+        if (type == double.class) {
+            return MethodHandles.filterReturnValue(slot, LONG_BITS_TO_DOUBLE);
+        }
+        if (type == float.class) {
+            slot = MethodHandles.explicitCastArguments(slot, MethodType.methodType(int.class, long[].class));
+            return MethodHandles.filterReturnValue(slot, INT_BITS_TO_FLOAT);
+        }
+        // narrowing conversion; booleans are stored as 0 or 1 and read back from the low bit
+        return MethodHandles.explicitCastArguments(slot, MethodType.methodType(type, long[].class));
+    }
+
+    private static MethodHandle noArgInstantiator(Class<?> type) {
+        try {
+            var constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return LOOKUP.unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
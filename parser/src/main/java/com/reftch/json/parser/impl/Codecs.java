@@ -0,0 +1,25 @@
+package com.reftch.json.parser.impl;
+
+/**
+ * Resolves the {@link ObjectCodec} of a class exactly once: the mapper generated for it at compile time
+ * when there is one, otherwise the reflective codec.
+ */
+final class Codecs {
+    private static final ClassCache<ObjectCodec<?>> CODECS = new ClassCache<>(Codecs::create);
+
+    private Codecs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> ObjectCodec<T> of(Class<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Class cannot be null");
+        }
+        return (ObjectCodec<T>) CODECS.get(type);
+    }
+
+    private static ObjectCodec<?> create(Class<?> type) {
+        var generated = GeneratedMapper.find(type);
+        return generated != null ? generated.codec() : new ReflectiveCodec<>(type);
+    }
+}
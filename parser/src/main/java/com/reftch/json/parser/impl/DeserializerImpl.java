@@ -1,84 +1,221 @@
 package com.reftch.json.parser.impl;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.RecordComponent;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.reftch.json.parser.MapperException;
+import com.reftch.json.parser.UncheckedMapperException;
 
 public class DeserializerImpl<T> extends AbstractDeserializer<T> {
+    private static final int MIN_BATCH_SIZE = 16;
 
-    T toObject(String json, Class<T> clazz) throws MapperException {
-        if (clazz == null) {
-            throw new IllegalArgumentException("Class cannot be null");
+    T toObject(JsonReader reader, ObjectCodec<T> codec) throws MapperException {
+        return bind(reader, codec);
+    }
+
+    /**
+     * Binds a file parsed in place from a read-only mapping, which is released before returning.
+     */
+    T toObject(Path path, ObjectCodec<T> codec) throws MapperException {
+        try (var arena = Arena.ofConfined()) {
+            return bind(JsonReader.of(map(path, arena)), codec);
         }
+    }
 
+    /**
+     * Binds the elements of a top-level array of a mapped file as the stream pulls them. The mapping
+     * belongs to a shared arena, so the stream may be consumed on any thread, and is released when the
+     * stream is closed.
+     */
+    Stream<T> iterate(Path path, ObjectCodec<T> codec) throws MapperException {
+        var arena = Arena.ofShared();
         try {
-            return switch (clazz) {
-                case Class<T> c when c.isRecord() -> toObjectForRecord(json, clazz);
-                default -> toObjectForRegularClass(json, clazz);
-            };
-        } catch (Exception e) {
-            throw new MapperException("Error during converting data", e);
+            return iterate(JsonReader.of(map(path, arena)), codec).onClose(arena::close);
+        } catch (MapperException | RuntimeException e) {
+            arena.close();
+            throw e;
         }
     }
 
-    private T toObjectForRecord(String json, Class<T> recordClass) throws MapperException {
-        try {
-            // Find the canonical constructor
-            var constructor = findRecordConstructor(recordClass);
+    private static MemorySegment map(Path path, Arena arena) throws MapperException {
+        // The mapping stays valid after the channel is closed, until the arena is
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+        } catch (IOException e) {
+            throw new MapperException("Error reading " + path, e);
+        }
+    }
 
-            // Parse JSON to extract field values
-            var fieldValues = parseFieldValues(json);
+    /**
+     * Converts {@code count} independent documents on the common fork/join pool,
+     * sharing one codec across all workers and keeping input order.
+     */
+    @SuppressWarnings("unchecked")
+    List<T> toObjects(int count, IntFunction<JsonReader> readers, ObjectCodec<T> codec) throws MapperException {
+        var results = new Object[count];
+        int batchSize = Math.max(MIN_BATCH_SIZE, count / (ForkJoinPool.getCommonPoolParallelism() * 4));
+        try {
+            ForkJoinPool.commonPool().invoke(new BatchTask(0, count, batchSize, readers, codec, results));
+        } catch (UncheckedMapperException e) {
+            throw e.getCause();
+        }
+        return Collections.unmodifiableList(Arrays.asList((T[]) results));
+    }
 
-            // Get parameter types and values
-            Class<?>[] paramTypes = constructor.getParameterTypes();
-            Object[] paramValues = new Object[paramTypes.length];
+    /**
+     * Converts every non-blank line of a JSON Lines file, parsing each line in place from a read-only
+     * mapping of the file. Lines are addressed with {@code long} offsets, so files larger than 2 GB work;
+     * the mapping belongs to a shared arena, since the lines are bound on pool threads, and is released
+     * before returning.
+     */
+    List<T> toObjects(Path jsonLines, ObjectCodec<T> codec) throws MapperException {
+        try (var arena = Arena.ofShared()) {
+            var segment = map(jsonLines, arena);
+            long size = segment.byteSize();
 
-            RecordComponent[] rc = recordClass.getRecordComponents();
-            for (int i = 0; i < paramTypes.length; i++) {
-                var fieldName = rc[i].getName();
-                var valueStr = fieldValues.get(fieldName);
-                paramValues[i] = valueStr != null ? convertValue(valueStr, paramTypes[i]) : null;
+            // start and end offsets of every non-blank line
+            var lines = new long[64];
+            int count = 0;
+            long start = 0;
+            boolean blank = true;
+            for (long i = 0; i <= size; i++) {
+                byte c = i < size ? segment.get(ValueLayout.JAVA_BYTE, i) : (byte) '\n';
+                if (c != '\n') {
+                    blank &= c == ' ' || c == '\t' || c == '\r';
+                    continue;
+                }
+                if (!blank) {
+                    if (count * 2 == lines.length) {
+                        lines = Arrays.copyOf(lines, lines.length * 2);
+                    }
+                    lines[count * 2] = start;
+                    lines[count * 2 + 1] = i;
+                    count++;
+                }
+                start = i + 1;
+                blank = true;
             }
 
-            return constructor.newInstance(paramValues);
-        } catch (IllegalAccessException | InstantiationException | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new MapperException(e.getLocalizedMessage());
+            var offsets = lines;
+            return toObjects(count, i -> JsonReader.of(segment.asSlice(offsets[i * 2], offsets[i * 2 + 1] - offsets[i * 2])),
+                    codec);
         }
     }
 
-    private T toObjectForRegularClass(String json, Class<T> clazz) throws MapperException {
+    private T bind(JsonReader reader, ObjectCodec<T> codec) throws MapperException {
         try {
-            T object = clazz.getDeclaredConstructor().newInstance();
-
-            // Parse JSON to extract field values
-            var fieldValues = parseFieldValues(json);
-            for (var entry : fieldValues.entrySet()) {
-                var field = clazz.getDeclaredField(entry.getKey());
-                if (field != null) {
-                    field.setAccessible(true);
-                    var valueStr = fieldValues.get(field.getName());
-                    if (List.class.isAssignableFrom(field.getType())) {
-                        ParameterizedType parameterizedType = (ParameterizedType) field.getGenericType();
-                        Class<?> listClass = (Class<?>) parameterizedType.getActualTypeArguments()[0];
-                        var value = parseToList(valueStr, listClass);
-                        field.set(object, value);
-                    } else {
-                        var value = convertValue(valueStr, field.getType());
-                        field.set(object, value);
-                    }
+            var result = codec.read(reader);
+            reader.endDocument();
+            return result;
+        } catch (Exception e) {
+            throw new MapperException("Error during converting data", e);
+        }
+    }
+
+    /**
+     * Splits a range of documents in halves until it is no larger than the batch size,
+     * then converts the batch sequentially into its slots of the shared result array.
+     */
+    private final class BatchTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int batchSize;
+        private final IntFunction<JsonReader> readers;
+        private final ObjectCodec<T> codec;
+        private final Object[] results;
 
-                    field.setAccessible(false);
+        BatchTask(int from, int to, int batchSize, IntFunction<JsonReader> readers, ObjectCodec<T> codec,
+                Object[] results) {
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+            this.readers = readers;
+            this.codec = codec;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > batchSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BatchTask(from, middle, batchSize, readers, codec, results),
+                        new BatchTask(middle, to, batchSize, readers, codec, results));
+                return;
+            }
+
+            for (int i = from; i < to; i++) {
+                try {
+                    results[i] = bind(readers.apply(i), codec);
+                } catch (MapperException e) {
+                    throw new UncheckedMapperException(new MapperException("Error at document " + i, e));
                 }
             }
-            return object;
+        }
+    }
+
+    /**
+     * Binds the elements of a top-level array one at a time, as the returned stream pulls them.
+     */
+    Stream<T> iterate(JsonReader reader, ObjectCodec<T> codec) throws MapperException {
+        try {
+            reader.beginArray();
         } catch (Exception e) {
-            // e.printStackTrace();
-            throw new MapperException(e.getLocalizedMessage());
+            throw new MapperException("Error during converting data", e);
         }
+
+        var iterator = new Iterator<T>() {
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (done) {
+                    return false;
+                }
+                try {
+                    if (reader.hasNext()) {
+                        return true;
+                    }
+                    reader.endArray();
+                    reader.endDocument();
+                    done = true;
+                    return false;
+                } catch (Exception e) {
+                    done = true;
+                    throw new UncheckedMapperException(new MapperException("Error during converting data", e));
+                }
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return codec.read(reader);
+                } catch (Exception e) {
+                    done = true;
+                    throw new UncheckedMapperException(new MapperException("Error during converting data", e));
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
     }
 
 }
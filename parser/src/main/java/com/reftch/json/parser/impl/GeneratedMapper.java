@@ -0,0 +1,93 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+import java.util.ServiceLoader;
+
+import com.reftch.json.parser.MapperException;
+
+/**
+ * Base class of the mappers generated at compile time for classes annotated with
+ * {@link com.reftch.json.parser.GenerateMapper}.
+ *
+ * Generated mappers live next to their class, are named {@code <Class>JsonMapper} (nested classes joined
+ * with {@code _}) and are registered as services of this class, which is how {@link Codecs} finds them.
+ */
+public abstract class GeneratedMapper<T> {
+    private static final String SUFFIX = "JsonMapper";
+
+    private final Class<T> type;
+    private final NameMatcher names;
+
+    /**
+     * @param names property names in the order of the indexes {@link JsonInput#nextName(GeneratedMapper)}
+     *        resolves them to; may be empty when the mapper dispatches on the name strings itself
+     */
+    protected GeneratedMapper(Class<T> type, String... names) {
+        this.type = type;
+        this.names = new NameMatcher(names);
+    }
+
+    public final Class<T> type() {
+        return type;
+    }
+
+    /**
+     * Reads a JSON object; the input is positioned on its opening brace.
+     */
+    protected abstract T read(JsonInput in) throws MapperException;
+
+    /**
+     * Writes a non-null value as a JSON object.
+     */
+    protected abstract void write(T value, JsonOutput out) throws IOException;
+
+    NameMatcher names() {
+        return names;
+    }
+
+    ObjectCodec<T> codec() {
+        return new ObjectCodec<>() {
+            @Override
+            public T read(JsonReader reader) throws MapperException {
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    return null;
+                }
+                return GeneratedMapper.this.read(new JsonInput(reader));
+            }
+
+            @Override
+            public void write(T value, JsonWriter writer) throws IOException {
+                GeneratedMapper.this.write(value, new JsonOutput(writer));
+            }
+        };
+    }
+
+    /**
+     * Returns the generated mapper of {@code type}, or {@code null}. Only the matching provider is instantiated.
+     */
+    @SuppressWarnings("rawtypes")
+    static GeneratedMapper<?> find(Class<?> type) {
+        var loader = type.getClassLoader();
+        if (loader == null) {
+            return null;
+        }
+
+        var name = mapperName(type);
+        return ServiceLoader.load(GeneratedMapper.class, loader).stream()
+                .filter(provider -> provider.type().getName().equals(name))
+                .<GeneratedMapper<?>>map(ServiceLoader.Provider::get)
+                .filter(mapper -> mapper.type() == type)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String mapperName(Class<?> type) {
+        var simpleName = new StringBuilder(type.getSimpleName());
+        for (var outer = type.getEnclosingClass(); outer != null; outer = outer.getEnclosingClass()) {
+            simpleName.insert(0, '_').insert(0, outer.getSimpleName());
+        }
+        var packageName = type.getPackageName();
+        return (packageName.isEmpty() ? "" : packageName + ".") + simpleName + SUFFIX;
+    }
+}
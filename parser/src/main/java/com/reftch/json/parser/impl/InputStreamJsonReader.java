@@ -0,0 +1,51 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * {@link JsonReader} over UTF-8 bytes read incrementally from an {@link InputStream}
+ * into a fixed-size window that only grows for tokens larger than the window.
+ */
+final class InputStreamJsonReader extends JsonReader {
+    static final int BUFFER_SIZE = 8 * 1024;
+
+    private final InputStream in;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+
+    InputStreamJsonReader(InputStream in) {
+        super(0, 0);
+        this.in = in;
+    }
+
+    @Override
+    protected int at(int i) {
+        return buffer[i] & 0xFF;
+    }
+
+    @Override
+    protected String text(int start, int end) {
+        return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean refill(int keep) throws IOException {
+        if (limit == buffer.length) {
+            if (keep > 0) {
+                System.arraycopy(buffer, keep, buffer, 0, limit - keep);
+                shift(keep);
+            } else {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read <= 0) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+package com.reftch.json.parser.impl;
+
+import java.util.List;
+
+import com.reftch.json.parser.MapperException;
+
+/**
+ * The token stream as seen by a {@link GeneratedMapper}: typed reads for the shapes the generator
+ * unrolls, and {@link #read(Class)} for everything it delegates back to the runtime binder.
+ */
+public final class JsonInput {
+    private static final AbstractDeserializer<Object> VALUES = new AbstractDeserializer<>() {
+    };
+
+    private final JsonReader reader;
+
+    JsonInput(JsonReader reader) {
+        this.reader = reader;
+    }
+
+    public void beginObject() throws MapperException {
+        reader.beginObject();
+    }
+
+    public void endObject() throws MapperException {
+        reader.endObject();
+    }
+
+    public boolean hasNext() throws MapperException {
+        return reader.hasNext();
+    }
+
+    public String nextName() throws MapperException {
+        return reader.nextName();
+    }
+
+    /**
+     * Consumes the next name and returns its index among the names {@code mapper} was created with,
+     * or -1, matching it in place without creating a string.
+     */
+    public int nextName(GeneratedMapper<?> mapper) throws MapperException {
+        return reader.nextName(mapper.names());
+    }
+
+    /**
+     * Name of the property whose value is next, for error messages.
+     */
+    public String currentName() throws MapperException {
+        return reader.currentName();
+    }
+
+    public void skipValue() throws MapperException {
+        reader.skipValue();
+    }
+
+    public boolean nextBoolean() throws MapperException {
+        return reader.nextBoolean();
+    }
+
+    public byte nextByte() throws MapperException {
+        return reader.nextByte();
+    }
+
+    public short nextShort() throws MapperException {
+        return reader.nextShort();
+    }
+
+    public char nextChar() throws MapperException {
+        return reader.nextChar();
+    }
+
+    public int nextInt() throws MapperException {
+        return reader.nextInt();
+    }
+
+    public long nextLong() throws MapperException {
+        return reader.nextLong();
+    }
+
+    public float nextFloat() throws MapperException {
+        return reader.nextFloat();
+    }
+
+    public double nextDouble() throws MapperException {
+        return reader.nextDouble();
+    }
+
+    /**
+     * Reads a string, or {@code null}.
+     */
+    public String nextString() throws MapperException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    /**
+     * Reads any value the runtime binder supports: arrays, enums, boxed scalars and nested objects.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V read(Class<V> type) throws MapperException {
+        return (V) VALUES.readValue(reader, type);
+    }
+
+    /**
+     * Reads an array into a list of {@code elementType}, or {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public <E> List<E> readList(Class<E> elementType) throws MapperException {
+        return (List<E>) VALUES.readList(reader, elementType);
+    }
+}
@@ -0,0 +1,101 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+
+/**
+ * The output buffer as seen by a {@link GeneratedMapper}: typed writes for the shapes the generator
+ * unrolls, and {@link #value(Object)} for everything it delegates back to the runtime serializer.
+ */
+public final class JsonOutput {
+    private static final SerializerImpl<Object> VALUES = new SerializerImpl<>();
+
+    private final JsonWriter writer;
+
+    JsonOutput(JsonWriter writer) {
+        this.writer = writer;
+    }
+
+    public void beginObject() {
+        writer.beginObject();
+    }
+
+    public void endObject() {
+        writer.endObject();
+    }
+
+    public void comma() {
+        writer.comma();
+    }
+
+    /**
+     * Writes a property name given already quoted and followed by its colon, e.g. {@code "\"id\":"}.
+     */
+    public void name(String jsonName) {
+        writer.name(jsonName);
+    }
+
+    /**
+     * Writes a property name given both as text and as its UTF-8 bytes, which byte outputs copy as they are.
+     */
+    public void name(String jsonName, byte[] utf8JsonName) {
+        writer.name(jsonName, utf8JsonName);
+    }
+
+    public void value(boolean value) {
+        writer.value(value);
+    }
+
+    public void value(int value) {
+        writer.value(value);
+    }
+
+    public void value(long value) {
+        writer.value(value);
+    }
+
+    public void value(float value) {
+        writer.value(value);
+    }
+
+    public void value(double value) {
+        writer.value(value);
+    }
+
+    public void value(char value) {
+        writer.value(value);
+    }
+
+    public void value(String value) {
+        if (value == null) {
+            writer.nullValue();
+        } else {
+            writer.value(value);
+        }
+    }
+
+    /**
+     * Writes a byte array as a Base64 string, or {@code null}.
+     */
+    public void base64(byte[] value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+        } else {
+            PrimitiveArrays.writeBase64(value, writer);
+        }
+    }
+
+    /**
+     * Writes any value the runtime serializer supports: arrays, collections, enums, boxed scalars and
+     * nested objects.
+     */
+    public void value(Object value) throws IOException {
+        VALUES.writeValue(value, writer);
+    }
+
+    /**
+     * Hands the buffered output to the underlying sink once it has grown large.
+     */
+    public void flushIfFull() throws IOException {
+        writer.flushIfFull();
+    }
+}
@@ -0,0 +1,755 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.reftch.json.parser.MapperException;
+
+/**
+ * Single-pass pull lexer over a JSON document.
+ *
+ * The reader walks the input once and describes every token by its offsets in the source.
+ * Strings and numbers are only materialized when a {@code next*} method asks for them,
+ * so skipped values and structural tokens never allocate.
+ *
+ * Subclasses supply the code units of the source: UTF-16 chars of a {@code String}, or the bytes
+ * of UTF-8 input, which is only decoded for the string values that are actually read.
+ *
+ * Offsets are indexes into a window over the input. Streaming sources keep a fixed-size window and
+ * {@link #refill(int) refill} it as the lexer reaches its end, discarding everything before the token
+ * being scanned; the window only grows when a single token does not fit.
+ */
+abstract class JsonReader {
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    /**
+     * Character produced by each single-character escape, or 0 when the escape is not defined.
+     */
+    private static final char[] UNESCAPES = new char[128];
+
+    static {
+        UNESCAPES['"'] = '"';
+        UNESCAPES['\\'] = '\\';
+        UNESCAPES['/'] = '/';
+        UNESCAPES['b'] = '\b';
+        UNESCAPES['f'] = '\f';
+        UNESCAPES['n'] = '\n';
+        UNESCAPES['r'] = '\r';
+        UNESCAPES['t'] = '\t';
+    }
+
+    protected int limit;
+    protected int pos;
+    private long offset;
+    private int mark = -1;
+
+    private int[] stack = new int[32];
+    private int depth;
+
+    private JsonToken peeked;
+    private int tokenStart;
+    private int tokenEnd;
+    private boolean escaped;
+    private int nameHash;
+    private boolean nameAscii;
+
+    protected JsonReader(int start, int limit) {
+        this.pos = start;
+        this.limit = limit;
+        this.stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    static JsonReader of(String json) {
+        return new StringJsonReader(json);
+    }
+
+    static JsonReader of(String json, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, json.length());
+        return new StringJsonReader(json, offset, offset + length);
+    }
+
+    static JsonReader of(byte[] utf8, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, utf8.length);
+        return new ByteArrayJsonReader(utf8, offset, offset + length);
+    }
+
+    /**
+     * Reads the remaining bytes of the buffer without changing its position.
+     */
+    static JsonReader of(ByteBuffer utf8) {
+        if (utf8.hasArray()) {
+            return new ByteArrayJsonReader(utf8.array(), utf8.arrayOffset() + utf8.position(),
+                    utf8.arrayOffset() + utf8.limit());
+        }
+        return new ByteBufferJsonReader(utf8);
+    }
+
+    /**
+     * Reads UTF-8 bytes of a segment of any size, such as a memory-mapped file.
+     */
+    static JsonReader of(MemorySegment utf8) {
+        return new MemorySegmentJsonReader(utf8);
+    }
+
+    /**
+     * Reads UTF-8 input incrementally; the stream is not closed.
+     */
+    static JsonReader of(InputStream utf8) {
+        return new InputStreamJsonReader(utf8);
+    }
+
+    /**
+     * Reads character input incrementally; the reader is not closed.
+     */
+    static JsonReader of(Reader reader) {
+        return new ReaderJsonReader(reader);
+    }
+
+    /**
+     * Returns the code unit at index {@code i}: a char, or an unsigned byte for UTF-8 sources.
+     */
+    protected abstract int at(int i);
+
+    /**
+     * Returns the text of a range that contains no escape sequences.
+     */
+    protected abstract String text(int start, int end);
+
+    /**
+     * Appends the text of a range that contains no escape sequences.
+     */
+    protected void appendText(StringBuilder sb, int start, int end) {
+        sb.append(text(start, end));
+    }
+
+    /**
+     * Makes more input available after {@code limit}. Code units before {@code keep} are no longer needed;
+     * an implementation that moves them out of the window must report it through {@link #shift(int)}.
+     *
+     * @return whether more input was read
+     */
+    protected boolean refill(int keep) throws IOException {
+        return false;
+    }
+
+    /**
+     * Records that the window content moved {@code count} code units towards its start.
+     */
+    protected final void shift(int count) {
+        pos -= count;
+        limit -= count;
+        tokenStart -= count;
+        tokenEnd -= count;
+        if (mark >= 0) {
+            mark -= count;
+        }
+        offset += count;
+    }
+
+    /**
+     * Returns the type of the next token without consuming it.
+     */
+    JsonToken peek() throws MapperException {
+        if (peeked == null) {
+            peeked = advance();
+        }
+        return peeked;
+    }
+
+    /**
+     * Start offset of the current token in the window. For strings and names this is the opening quote.
+     */
+    int tokenStart() {
+        return tokenStart;
+    }
+
+    /**
+     * End offset (exclusive) of the current token in the window. For strings and names this is after the closing quote.
+     */
+    int tokenEnd() {
+        return tokenEnd;
+    }
+
+    boolean hasNext() throws MapperException {
+        var token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    void beginObject() throws MapperException {
+        consume(JsonToken.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    void endObject() throws MapperException {
+        consume(JsonToken.END_OBJECT);
+        depth--;
+    }
+
+    void beginArray() throws MapperException {
+        consume(JsonToken.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    void endArray() throws MapperException {
+        consume(JsonToken.END_ARRAY);
+        depth--;
+    }
+
+    void endDocument() throws MapperException {
+        consume(JsonToken.END_DOCUMENT);
+    }
+
+    /**
+     * Returns the next property name. Whitespace is not significant in names.
+     */
+    String nextName() throws MapperException {
+        consume(JsonToken.NAME);
+        return currentName();
+    }
+
+    /**
+     * Returns the next name as a map key: decoded exactly as written, whitespace included, since keys
+     * are data rather than property names.
+     */
+    String nextKey() throws MapperException {
+        consume(JsonToken.NAME);
+        return decode(tokenStart + 1, tokenEnd - 1, escaped);
+    }
+
+    /**
+     * Consumes the next property name and returns its index in {@code names}, or -1 for an unknown name.
+     * Plain ASCII names are matched in place by the hash computed while scanning them, without creating a String.
+     */
+    int nextName(NameMatcher names) throws MapperException {
+        consume(JsonToken.NAME);
+        if (nameAscii && !escaped) {
+            int index = names.match(this, tokenStart + 1, tokenEnd - 1, nameHash);
+            if (index >= 0 || !containsWhitespace(tokenStart + 1, tokenEnd - 1)) {
+                return index;
+            }
+        }
+        return names.indexOf(currentName());
+    }
+
+    /**
+     * Returns the name that was consumed last, as long as no other token has been read since.
+     */
+    String currentName() throws MapperException {
+        return withoutWhitespace(decode(tokenStart + 1, tokenEnd - 1, escaped));
+    }
+
+    /**
+     * Returns the content of the string token at {@code [start, end)} of the window, which need not be the current token.
+     */
+    String stringAt(int start, int end) throws MapperException {
+        boolean escapes = false;
+        for (int i = start + 1; i < end - 1 && !escapes; i++) {
+            escapes = at(i) == '\\';
+        }
+        return decode(start + 1, end - 1, escapes);
+    }
+
+    private static String withoutWhitespace(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (isNameWhitespace(name.charAt(i))) {
+                var sb = new StringBuilder(name.length() - 1).append(name, 0, i);
+                for (int j = i + 1; j < name.length(); j++) {
+                    char c = name.charAt(j);
+                    if (!isNameWhitespace(c)) {
+                        sb.append(c);
+                    }
+                }
+                return sb.toString();
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Returns the next scalar as text: the decoded content of a string, or the literal of a number or boolean.
+     */
+    String nextString() throws MapperException {
+        var token = peek();
+        if (token == JsonToken.STRING) {
+            peeked = null;
+            return decode(tokenStart + 1, tokenEnd - 1, escaped);
+        }
+        if (token == JsonToken.NUMBER || token == JsonToken.BOOLEAN) {
+            peeked = null;
+            return text(tokenStart, tokenEnd);
+        }
+        throw unexpected(token, "a string");
+    }
+
+    boolean nextBoolean() throws MapperException {
+        if (peek() == JsonToken.BOOLEAN) {
+            peeked = null;
+            return at(tokenStart) == 't';
+        }
+        return Boolean.parseBoolean(nextString());
+    }
+
+    int nextInt() throws MapperException {
+        if (peek() == JsonToken.NUMBER) {
+            peeked = null;
+            return NumberParser.parseInt(this, tokenStart, tokenEnd);
+        }
+        return Integer.parseInt(nextString());
+    }
+
+    long nextLong() throws MapperException {
+        if (peek() == JsonToken.NUMBER) {
+            peeked = null;
+            return NumberParser.parseLong(this, tokenStart, tokenEnd);
+        }
+        return Long.parseLong(nextString());
+    }
+
+    short nextShort() throws MapperException {
+        int value = nextInt();
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range for short: " + value);
+        }
+        return (short) value;
+    }
+
+    byte nextByte() throws MapperException {
+        int value = nextInt();
+        if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range for byte: " + value);
+        }
+        return (byte) value;
+    }
+
+    double nextDouble() throws MapperException {
+        if (peek() == JsonToken.NUMBER) {
+            peeked = null;
+            return NumberParser.parseDouble(this, tokenStart, tokenEnd);
+        }
+        return Double.parseDouble(nextString());
+    }
+
+    float nextFloat() throws MapperException {
+        if (peek() == JsonToken.NUMBER) {
+            peeked = null;
+            return NumberParser.parseFloat(this, tokenStart, tokenEnd);
+        }
+        return Float.parseFloat(nextString());
+    }
+
+    char nextChar() throws MapperException {
+        return nextString().charAt(0);
+    }
+
+    void nextNull() throws MapperException {
+        consume(JsonToken.NULL);
+    }
+
+    /**
+     * Consumes the next token of any kind, keeping track of nesting. The offsets of the token stay available
+     * through {@link #tokenStart()} and {@link #tokenEnd()}; strings and numbers are not decoded.
+     */
+    JsonToken nextToken() throws MapperException {
+        var token = peek();
+        switch (token) {
+            case BEGIN_OBJECT -> beginObject();
+            case BEGIN_ARRAY -> beginArray();
+            case END_OBJECT -> endObject();
+            case END_ARRAY -> endArray();
+            default -> peeked = null;
+        }
+        return token;
+    }
+
+    /**
+     * Skips the next value, including any nested objects and arrays.
+     *
+     * Objects and arrays are skipped by scanning their code units for brackets and string delimiters only:
+     * names and strings are not hashed or decoded, and literals are not checked, so a malformed value inside
+     * a skipped container goes unnoticed as long as its brackets and strings are balanced.
+     */
+    void skipValue() throws MapperException {
+        var first = peek();
+        switch (first) {
+            case END_OBJECT, END_ARRAY, NAME, END_DOCUMENT -> throw unexpected(first, "a value");
+            case BEGIN_OBJECT, BEGIN_ARRAY -> {
+                peeked = null;
+                push(first == JsonToken.BEGIN_OBJECT ? EMPTY_OBJECT : EMPTY_ARRAY);
+                skipNested(depth - 1);
+            }
+            default -> peeked = null;
+        }
+    }
+
+    /**
+     * Skips the rest of the object or array being read, including its end token, in place of reading the
+     * remaining members and calling {@link #endObject()} or {@link #endArray()}.
+     */
+    void skipRemaining() throws MapperException {
+        if (depth == 1) {
+            throw new IllegalStateException("Not inside an object or array");
+        }
+        if (peeked == null) {
+            skipNested(depth - 1);
+            return;
+        }
+        // The next token has been scanned already, so the lexer state must be kept up to date from it
+        while (hasNext()) {
+            if (peek() == JsonToken.NAME) {
+                peeked = null;
+            }
+            skipValue();
+        }
+        if (peek() == JsonToken.END_OBJECT) {
+            endObject();
+        } else {
+            endArray();
+        }
+    }
+
+    /**
+     * Scans past the end of the container at {@code level} of the stack. Scopes of nested containers are pushed
+     * and popped only to match every closing bracket with its opening one.
+     */
+    private void skipNested(int level) throws MapperException {
+        while (true) {
+            if (pos == limit) {
+                // Nothing scanned so far is needed again, so a streaming source does not have to keep it
+                tokenStart = pos;
+                if (!fill()) {
+                    throw syntaxError("Unexpected end of input");
+                }
+            }
+            int c = at(pos++);
+            switch (c) {
+                case '"' -> {
+                    tokenStart = pos - 1;
+                    scanString();
+                }
+                case '{' -> push(EMPTY_OBJECT);
+                case '[' -> push(EMPTY_ARRAY);
+                case '}', ']' -> {
+                    int scope = stack[--depth];
+                    boolean object = scope == EMPTY_OBJECT || scope == DANGLING_NAME || scope == NONEMPTY_OBJECT;
+                    if (object != (c == '}')) {
+                        throw syntaxError("Unexpected character '" + (char) c + "'");
+                    }
+                    if (depth == level) {
+                        tokenEnd = pos;
+                        return;
+                    }
+                }
+                default -> {
+                    // anything else inside a skipped container only needs to be passed over
+                }
+            }
+        }
+    }
+
+    /**
+     * Skips the next value and returns its source text.
+     */
+    String nextRawValue() throws MapperException {
+        peek();
+        mark = tokenStart;
+        try {
+            skipValue();
+            return text(mark, tokenEnd);
+        } finally {
+            mark = -1;
+        }
+    }
+
+    private void consume(JsonToken expected) throws MapperException {
+        var token = peek();
+        if (token != expected) {
+            throw unexpected(token, expected.name());
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = scope;
+    }
+
+    private JsonToken advance() throws MapperException {
+        tokenStart = pos;
+        int scope = stack[depth - 1];
+        int c;
+
+        if (scope == EMPTY_OBJECT || scope == NONEMPTY_OBJECT) {
+            c = nextNonWhitespace();
+            if (c == '}') {
+                return structural(JsonToken.END_OBJECT);
+            }
+            if (scope == NONEMPTY_OBJECT) {
+                if (c != ',') {
+                    throw syntaxError("Expected ',' or '}'");
+                }
+                c = nextNonWhitespace();
+            }
+            if (c != '"') {
+                throw syntaxError("Expected a property name");
+            }
+            stack[depth - 1] = DANGLING_NAME;
+            tokenStart = pos - 1;
+            scanName();
+            return JsonToken.NAME;
+        }
+
+        if (scope == DANGLING_NAME) {
+            if (nextNonWhitespace() != ':') {
+                throw syntaxError("Expected ':'");
+            }
+            stack[depth - 1] = NONEMPTY_OBJECT;
+            c = nextNonWhitespace();
+        } else if (scope == EMPTY_ARRAY) {
+            stack[depth - 1] = NONEMPTY_ARRAY;
+            c = nextNonWhitespace();
+            if (c == ']') {
+                return structural(JsonToken.END_ARRAY);
+            }
+        } else if (scope == NONEMPTY_ARRAY) {
+            c = nextNonWhitespace();
+            if (c == ']') {
+                return structural(JsonToken.END_ARRAY);
+            }
+            if (c != ',') {
+                throw syntaxError("Expected ',' or ']'");
+            }
+            c = nextNonWhitespace();
+        } else if (scope == EMPTY_DOCUMENT) {
+            stack[depth - 1] = NONEMPTY_DOCUMENT;
+            c = nextNonWhitespace();
+        } else {
+            if (nextNonWhitespace() != -1) {
+                throw syntaxError("Unexpected data after the end of the document");
+            }
+            tokenStart = tokenEnd = pos;
+            return JsonToken.END_DOCUMENT;
+        }
+
+        return value(c);
+    }
+
+    private JsonToken value(int c) throws MapperException {
+        tokenStart = pos - 1;
+        return switch (c) {
+            case '{' -> structural(JsonToken.BEGIN_OBJECT);
+            case '[' -> structural(JsonToken.BEGIN_ARRAY);
+            case '"' -> {
+                scanString();
+                yield JsonToken.STRING;
+            }
+            case -1 -> throw syntaxError("Unexpected end of input");
+            default -> scanLiteral();
+        };
+    }
+
+    private JsonToken structural(JsonToken token) {
+        tokenStart = pos - 1;
+        tokenEnd = pos;
+        return token;
+    }
+
+    private void scanString() throws MapperException {
+        escaped = false;
+        while (pos < limit || fill()) {
+            int c = at(pos++);
+            if (c == '"') {
+                tokenEnd = pos;
+                return;
+            }
+            if (c == '\\') {
+                escaped = true;
+                if (pos == limit && !fill()) {
+                    break;
+                }
+                pos++;
+            }
+        }
+        throw syntaxError("Unterminated string");
+    }
+
+    /**
+     * Scans a name like a string while hashing its code units for {@link NameMatcher}.
+     */
+    private void scanName() throws MapperException {
+        int hash = 0;
+        int bits = 0;
+        while (pos < limit || fill()) {
+            int c = at(pos++);
+            if (c == '"') {
+                tokenEnd = pos;
+                escaped = false;
+                nameHash = hash;
+                nameAscii = bits < 0x80;
+                return;
+            }
+            if (c == '\\') {
+                // Rare enough to rescan as a plain string
+                pos--;
+                scanString();
+                nameAscii = false;
+                return;
+            }
+            hash = NameMatcher.hash(hash, c);
+            bits |= c;
+        }
+        throw syntaxError("Unterminated string");
+    }
+
+    private boolean containsWhitespace(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (isNameWhitespace(at(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whitespace removed from property names: exactly the characters of the regex class {@code \s}, i.e.
+     * space, tab, line feed, vertical tab, form feed and carriage return.
+     */
+    private static boolean isNameWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private JsonToken scanLiteral() throws MapperException {
+        while ((pos < limit || fill()) && !isDelimiter(at(pos))) {
+            pos++;
+        }
+        tokenEnd = pos;
+
+        int first = at(tokenStart);
+        if (first == 't' && matches("true") || first == 'f' && matches("false")) {
+            return JsonToken.BOOLEAN;
+        }
+        if (first == 'n' && matches("null")) {
+            return JsonToken.NULL;
+        }
+        if (first == '-' || (first >= '0' && first <= '9')) {
+            return JsonToken.NUMBER;
+        }
+        throw syntaxError("Unexpected character '" + (char) first + "'");
+    }
+
+    private boolean matches(String literal) {
+        if (tokenEnd - tokenStart != literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (at(tokenStart + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int nextNonWhitespace() throws MapperException {
+        while (pos < limit || fill()) {
+            int c = at(pos++);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private boolean fill() throws MapperException {
+        int keep = mark >= 0 ? Math.min(mark, tokenStart) : tokenStart;
+        try {
+            return refill(keep) && pos < limit;
+        } catch (IOException e) {
+            throw new MapperException("Error reading input at position " + (offset + pos), e);
+        }
+    }
+
+    private static boolean isDelimiter(int c) {
+        return switch (c) {
+            case ' ', '\n', '\r', '\t', ',', ':', '[', ']', '{', '}', '"' -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Returns the content of a string token. Runs of plain text between escape sequences are
+     * copied in bulk, which for UTF-8 sources also decodes them.
+     */
+    private String decode(int start, int end, boolean escaped) throws MapperException {
+        if (!escaped) {
+            return text(start, end);
+        }
+
+        var sb = new StringBuilder(end - start);
+        int from = start;
+        for (int i = start; i < end; i++) {
+            if (at(i) != '\\') {
+                continue;
+            }
+            appendText(sb, from, i);
+            int c = at(++i);
+            if (c == 'u') {
+                sb.append(unicodeEscape(i + 1, end));
+                i += 4;
+            } else {
+                char unescaped = c < UNESCAPES.length ? UNESCAPES[c] : 0;
+                if (unescaped != 0) {
+                    sb.append(unescaped);
+                } else {
+                    // Unknown escapes are kept as they are
+                    sb.append('\\').append((char) c);
+                }
+            }
+            from = i + 1;
+        }
+        appendText(sb, from, end);
+        return sb.toString();
+    }
+
+    /**
+     * Reads the four hex digits of a unicode escape. Surrogate pairs need no special handling:
+     * each half is a UTF-16 code unit of its own.
+     */
+    private char unicodeEscape(int start, int end) throws MapperException {
+        if (start + 4 > end) {
+            throw syntaxError("Invalid unicode escape sequence");
+        }
+        int value = 0;
+        for (int i = start; i < start + 4; i++) {
+            int c = at(i);
+            int digit = c >= '0' && c <= '9' ? c - '0'
+                    : c >= 'a' && c <= 'f' ? c - 'a' + 10
+                    : c >= 'A' && c <= 'F' ? c - 'A' + 10
+                    : -1;
+            if (digit < 0) {
+                throw syntaxError("Invalid unicode escape sequence");
+            }
+            value = value << 4 | digit;
+        }
+        return (char) value;
+    }
+
+    private MapperException unexpected(JsonToken actual, String expected) {
+        return new MapperException("Expected " + expected + " but was " + actual + " at position " + (offset + tokenStart));
+    }
+
+    private MapperException syntaxError(String message) {
+        return new MapperException(message + " at position " + (offset + pos - 1));
+    }
+}
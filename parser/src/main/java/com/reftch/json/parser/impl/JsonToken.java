@@ -0,0 +1,17 @@
+package com.reftch.json.parser.impl;
+
+/**
+ * Kinds of tokens produced by {@link JsonReader}.
+ */
+enum JsonToken {
+    BEGIN_OBJECT,
+    END_OBJECT,
+    BEGIN_ARRAY,
+    END_ARRAY,
+    NAME,
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    NULL,
+    END_DOCUMENT
+}
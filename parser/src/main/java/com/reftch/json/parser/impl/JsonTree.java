@@ -0,0 +1,310 @@
+package com.reftch.json.parser.impl;
+
+import java.util.Arrays;
+
+import com.reftch.json.parser.JsonNode;
+import com.reftch.json.parser.MapperException;
+
+/**
+ * Structural index of a JSON document behind {@link JsonNode}.
+ *
+ * One pass of the lexer records every token as its kind and source offsets in parallel arrays;
+ * end tokens are not stored, instead every object and array records where it ends in the source and
+ * the index of the token after it, so a whole subtree is skipped in one step. Nothing is decoded
+ * while indexing: strings and numbers are read from the source when a node asks for them.
+ *
+ * UTF-8 input is indexed in two stages instead: {@link StructuralScanner} finds every structural
+ * position in bulk, and {@link #index(byte[], StructuralScanner.Structurals)} walks only those
+ * positions, checking the grammar as the lexer would and reading scalars up to their delimiter.
+ */
+public final class JsonTree {
+    private static final JsonToken[] TOKENS = JsonToken.values();
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3;
+    private static final int OBJECT_VALUE = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    private static final int OBJECT_COMMA = 6;
+    private static final int EMPTY_ARRAY = 7;
+    private static final int NONEMPTY_ARRAY = 8;
+    private static final int ARRAY_COMMA = 9;
+
+    private final String json;
+    private final byte[] utf8;
+    private final JsonReader source;
+
+    private byte[] kinds;
+    private int[] starts;
+    private int[] ends;
+    private int[] next;
+    private int count;
+
+    private JsonTree(String json, byte[] utf8, JsonReader source, int capacity) {
+        this.json = json;
+        this.utf8 = utf8;
+        this.source = source;
+        this.kinds = new byte[capacity];
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+        this.next = new int[capacity];
+    }
+
+    public static JsonNode parse(String json) throws MapperException {
+        var tree = new JsonTree(json, null, JsonReader.of(json), capacity(json.length()));
+        tree.index(JsonReader.of(json));
+        return tree.node(0);
+    }
+
+    public static JsonNode parse(byte[] utf8) throws MapperException {
+        var structurals = StructuralScanner.instance().scan(utf8, 0, utf8.length);
+        // Every token starts at a structural position, so their count bounds the size of the index
+        var tree = new JsonTree(null, utf8, JsonReader.of(utf8, 0, utf8.length), Math.max(1, structurals.count()));
+        tree.index(utf8, structurals);
+        return tree.node(0);
+    }
+
+    private static int capacity(int length) {
+        return Math.clamp(length / 8, 16, 1 << 16);
+    }
+
+    private void index(JsonReader reader) throws MapperException {
+        var open = new int[32];
+        int depth = 0;
+        while (true) {
+            var token = reader.nextToken();
+            switch (token) {
+                case BEGIN_OBJECT, BEGIN_ARRAY -> {
+                    if (depth == open.length) {
+                        open = Arrays.copyOf(open, depth * 2);
+                    }
+                    open[depth++] = count;
+                    add(token, reader.tokenStart(), -1);
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    int container = open[--depth];
+                    ends[container] = reader.tokenEnd();
+                    next[container] = count;
+                }
+                case END_DOCUMENT -> {
+                    return;
+                }
+                default -> add(token, reader.tokenStart(), reader.tokenEnd());
+            }
+        }
+    }
+
+    private void index(byte[] utf8, StructuralScanner.Structurals structurals) throws MapperException {
+        var positions = structurals.positions();
+        int length = structurals.count();
+        var scopes = new int[32];
+        var open = new int[32];
+        scopes[0] = EMPTY_DOCUMENT;
+        int depth = 1;
+
+        for (int i = 0; i < length; i++) {
+            int pos = positions[i];
+            int c = utf8[pos];
+            int scope = scopes[depth - 1];
+            switch (scope) {
+                case EMPTY_OBJECT, OBJECT_COMMA -> {
+                    if (c == '}' && scope == EMPTY_OBJECT) {
+                        close(open[--depth], pos);
+                    } else if (c == '"') {
+                        int end = positions[++i] + 1;
+                        add(JsonToken.NAME, pos, end);
+                        scopes[depth - 1] = DANGLING_NAME;
+                    } else {
+                        throw syntaxError("Expected a property name", pos);
+                    }
+                    continue;
+                }
+                case DANGLING_NAME -> {
+                    if (c != ':') {
+                        throw syntaxError("Expected ':'", pos);
+                    }
+                    scopes[depth - 1] = OBJECT_VALUE;
+                    continue;
+                }
+                case NONEMPTY_OBJECT, NONEMPTY_ARRAY -> {
+                    boolean object = scope == NONEMPTY_OBJECT;
+                    if (c == (object ? '}' : ']')) {
+                        close(open[--depth], pos);
+                    } else if (c == ',') {
+                        scopes[depth - 1] = object ? OBJECT_COMMA : ARRAY_COMMA;
+                    } else {
+                        throw syntaxError(object ? "Expected ',' or '}'" : "Expected ',' or ']'", pos);
+                    }
+                    continue;
+                }
+                case EMPTY_ARRAY -> {
+                    if (c == ']') {
+                        close(open[--depth], pos);
+                        continue;
+                    }
+                }
+                case NONEMPTY_DOCUMENT -> throw syntaxError("Unexpected data after the end of the document", pos);
+                default -> {
+                    // OBJECT_VALUE, ARRAY_COMMA and EMPTY_DOCUMENT expect a value
+                }
+            }
+
+            scopes[depth - 1] = switch (scope) {
+                case OBJECT_VALUE -> NONEMPTY_OBJECT;
+                case EMPTY_DOCUMENT -> NONEMPTY_DOCUMENT;
+                default -> NONEMPTY_ARRAY;
+            };
+            switch (c) {
+                case '{', '[' -> {
+                    if (depth == scopes.length) {
+                        scopes = Arrays.copyOf(scopes, depth * 2);
+                        open = Arrays.copyOf(open, depth * 2);
+                    }
+                    open[depth] = count;
+                    scopes[depth++] = c == '{' ? EMPTY_OBJECT : EMPTY_ARRAY;
+                    add(c == '{' ? JsonToken.BEGIN_OBJECT : JsonToken.BEGIN_ARRAY, pos, -1);
+                }
+                case '"' -> add(JsonToken.STRING, pos, positions[++i] + 1);
+                default -> {
+                    int end = pos;
+                    while (end < utf8.length && !isDelimiter(utf8[end])) {
+                        end++;
+                    }
+                    add(literal(utf8, pos, end), pos, end);
+                    // A quote behind a backslash is not structural, so the scalar cannot end there
+                    if (end < utf8.length && !isWhitespace(utf8[end]) && (i + 1 == length || positions[i + 1] != end)) {
+                        throw syntaxError("Unexpected character '" + (char) utf8[end] + "'", end);
+                    }
+                }
+            }
+        }
+
+        if (depth > 1 || scopes[0] == EMPTY_DOCUMENT) {
+            throw syntaxError("Unexpected end of input", utf8.length);
+        }
+    }
+
+    private void close(int container, int pos) {
+        ends[container] = pos + 1;
+        next[container] = count;
+    }
+
+    private static JsonToken literal(byte[] utf8, int start, int end) throws MapperException {
+        int first = utf8[start];
+        if (first == 't' && matches(utf8, start, end, "true") || first == 'f' && matches(utf8, start, end, "false")) {
+            return JsonToken.BOOLEAN;
+        }
+        if (first == 'n' && matches(utf8, start, end, "null")) {
+            return JsonToken.NULL;
+        }
+        if (first == '-' || (first >= '0' && first <= '9')) {
+            return JsonToken.NUMBER;
+        }
+        throw syntaxError("Unexpected character '" + (char) (first & 0xFF) + "'", start);
+    }
+
+    private static boolean matches(byte[] utf8, int start, int end, String literal) {
+        if (end - start != literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (utf8[start + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDelimiter(byte c) {
+        return switch (c) {
+            case ',', ':', '[', ']', '{', '}', '"' -> true;
+            default -> isWhitespace(c);
+        };
+    }
+
+    private static boolean isWhitespace(byte c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private static MapperException syntaxError(String message, int pos) {
+        return new MapperException(message + " at position " + pos);
+    }
+
+    private void add(JsonToken token, int start, int end) {
+        if (count == kinds.length) {
+            int capacity = count * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        kinds[count] = (byte) token.ordinal();
+        starts[count] = start;
+        ends[count] = end;
+        next[count] = count + 1;
+        count++;
+    }
+
+    JsonNode node(int token) {
+        return new TreeNode(this, token);
+    }
+
+    JsonToken token(int token) {
+        return TOKENS[kinds[token]];
+    }
+
+    int start(int token) {
+        return starts[token];
+    }
+
+    int end(int token) {
+        return ends[token];
+    }
+
+    /**
+     * Index of the first token after the value at {@code token}, including all of its children.
+     */
+    int next(int token) {
+        return next[token];
+    }
+
+    JsonReader source() {
+        return source;
+    }
+
+    /**
+     * A reader over the source of the value at {@code token} only.
+     */
+    JsonReader reader(int token) {
+        int start = starts[token];
+        int length = ends[token] - start;
+        return json != null ? JsonReader.of(json, start, length) : JsonReader.of(utf8, start, length);
+    }
+
+    /**
+     * Whether the name token equals {@code name} exactly as written, comparing code units in place for
+     * plain ASCII names.
+     */
+    boolean nameEquals(int token, String name) throws MapperException {
+        int start = starts[token] + 1;
+        int end = ends[token] - 1;
+        boolean plain = true;
+        if (end - start == name.length()) {
+            for (int i = 0; i < name.length(); i++) {
+                int c = source.at(start + i);
+                if (c == '\\' || c >= 0x80) {
+                    plain = false;
+                    break;
+                }
+                if (c != name.charAt(i)) {
+                    return false;
+                }
+            }
+            if (plain) {
+                return true;
+            }
+        }
+        return source.stringAt(starts[token], ends[token]).equals(name);
+    }
+}
@@ -0,0 +1,100 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+
+/**
+ * Token writer behind the serializer, with one implementation per output encoding:
+ * {@link CharJsonWriter} for text targets and {@link Utf8JsonWriter} for byte targets.
+ *
+ * Writers buffer everything they are given; only {@link #flushIfFull()} and {@link #flush()}
+ * hand buffered output to the target.
+ */
+abstract sealed class JsonWriter permits CharJsonWriter, Utf8JsonWriter {
+    static final int FLUSH_THRESHOLD = 8 * 1024;
+
+    static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    static final char[] BASE64_DIGITS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    /**
+     * Escape sequence for each ASCII character that cannot appear raw in a JSON string, otherwise {@code null}.
+     */
+    static final String[] ESCAPES = new String[128];
+
+    static {
+        for (char c = 0; c < 0x20; c++) {
+            ESCAPES[c] = new String(new char[] { '\\', 'u', '0', '0', HEX_DIGITS[c >> 4], HEX_DIGITS[c & 0xF] });
+        }
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['\t'] = "\\t";
+    }
+
+    abstract void beginObject();
+
+    abstract void endObject();
+
+    abstract void beginArray();
+
+    abstract void endArray();
+
+    abstract void comma();
+
+    /**
+     * Writes a property name that is already quoted and followed by a colon.
+     */
+    abstract void name(String jsonName);
+
+    /**
+     * Writes a property name given both as text and pre-encoded as UTF-8, so each writer copies the
+     * form it needs.
+     */
+    void name(String jsonName, byte[] utf8JsonName) {
+        name(jsonName);
+    }
+
+    /**
+     * Writes a property name that is only known at run time, such as a map key, quoted and followed by a colon.
+     */
+    abstract void key(String name);
+
+    abstract void nullValue();
+
+    abstract void value(boolean value);
+
+    abstract void value(int value);
+
+    abstract void value(long value);
+
+    abstract void value(float value);
+
+    abstract void value(double value);
+
+    abstract void value(char value);
+
+    /**
+     * Writes a quoted string. Text between characters that need escaping is copied in bulk,
+     * so a string without any is copied in one call.
+     */
+    abstract void value(String value);
+
+    /**
+     * Writes bytes as a quoted Base64 string with padding, as {@link java.util.Base64#getEncoder()} encodes them.
+     */
+    abstract void base64Value(byte[] value);
+
+    /**
+     * Writes text that is already valid JSON, such as the literal of a number.
+     */
+    abstract void rawValue(CharSequence value);
+
+    /**
+     * Hands the buffered output to the target once the buffer has grown past {@link #FLUSH_THRESHOLD}.
+     */
+    abstract void flushIfFull() throws IOException;
+
+    abstract void flush() throws IOException;
+}
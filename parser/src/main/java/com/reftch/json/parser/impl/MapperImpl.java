@@ -1,26 +1,144 @@
 package com.reftch.json.parser.impl;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.reftch.json.parser.Binding;
+import com.reftch.json.parser.JsonNode;
 import com.reftch.json.parser.MapperException;
 import com.reftch.json.parser.Mapper;
 
+/**
+ * Mapper of one class. All state is final and set in the constructor, including the codec of the class,
+ * and the serializer and deserializer keep no state between calls, so one instance can be shared by
+ * any number of threads; {@link Mappers} keeps one per class and binding.
+ */
 public class MapperImpl<T> implements Mapper<T>  {
     private final SerializerImpl<T> serializer;
     private final DeserializerImpl<T> deserializer;
-    private final Class<T> clazz;
+    private final Class<T> type;
+    private final ObjectCodec<T> codec;
 
     public MapperImpl(Class<T> clazz) {
-        this.clazz = clazz;
+        this(clazz, Binding.REFLECTION);
+    }
+
+    public MapperImpl(Class<T> clazz, Binding binding) {
+        if (binding == null) {
+            throw new IllegalArgumentException("Binding cannot be null");
+        }
+        this.serializer = new SerializerImpl<>();
+        this.deserializer = new DeserializerImpl<>();
+        this.type = clazz;
+        this.codec = binding == Binding.BYTECODE ? BytecodeCodecs.of(clazz) : Codecs.of(clazz);
+    }
+
+    MapperImpl(Class<T> clazz, ObjectCodec<T> codec) {
         this.serializer = new SerializerImpl<>();
         this.deserializer = new DeserializerImpl<>();
+        this.type = clazz;
+        this.codec = codec;
     }
 
     @Override
     public String toJson(T object) throws MapperException {
-        return serializer.toJson(object);
+        return serializer.toJson(object, writeCodec(object));
+    }
+
+    @Override
+    public void toJson(T object, Appendable out) throws MapperException {
+        serializer.toJson(object, writeCodec(object), out);
+    }
+
+    @Override
+    public void toJson(T object, OutputStream out) throws MapperException {
+        serializer.toJson(object, writeCodec(object), out);
+    }
+
+    @Override
+    public void toJson(T object, WritableByteChannel out) throws MapperException {
+        serializer.toJson(object, writeCodec(object), out);
+    }
+
+    @Override
+    public byte[] toJsonBytes(T object) throws MapperException {
+        return serializer.toJsonBytes(object, writeCodec(object));
     }
 
     @Override
     public T toObject(String json) throws MapperException {
-        return deserializer.toObject(json, clazz);
+        return deserializer.toObject(JsonReader.of(json), codec);
+    }
+
+    @Override
+    public T toObject(byte[] utf8, int offset, int length) throws MapperException {
+        return deserializer.toObject(JsonReader.of(utf8, offset, length), codec);
+    }
+
+    @Override
+    public T toObject(ByteBuffer utf8) throws MapperException {
+        return deserializer.toObject(JsonReader.of(utf8), codec);
+    }
+
+    @Override
+    public T toObject(InputStream utf8) throws MapperException {
+        return deserializer.toObject(JsonReader.of(utf8), codec);
+    }
+
+    @Override
+    public T toObject(Reader reader) throws MapperException {
+        return deserializer.toObject(JsonReader.of(reader), codec);
+    }
+
+    @Override
+    public T toObject(JsonNode node) throws MapperException {
+        if (node instanceof TreeNode tree) {
+            return deserializer.toObject(tree.reader(), codec);
+        }
+        return Mapper.super.toObject(node);
+    }
+
+    @Override
+    public T toObject(Path path) throws MapperException {
+        return deserializer.toObject(path, codec);
+    }
+
+    @Override
+    public Stream<T> iterate(Path path) throws MapperException {
+        return deserializer.iterate(path, codec);
+    }
+
+    @Override
+    public Stream<T> iterate(InputStream utf8) throws MapperException {
+        return deserializer.iterate(JsonReader.of(utf8), codec);
+    }
+
+    @Override
+    public Stream<T> iterate(Reader reader) throws MapperException {
+        return deserializer.iterate(JsonReader.of(reader), codec);
+    }
+
+    @Override
+    public List<T> toObjects(List<String> jsons) throws MapperException {
+        return deserializer.toObjects(jsons.size(), i -> JsonReader.of(jsons.get(i)), codec);
+    }
+
+    @Override
+    public List<T> toObjects(Path jsonLines) throws MapperException {
+        return deserializer.toObjects(jsonLines, codec);
+    }
+
+    /**
+     * The codec of this mapper for values of exactly its class; values of a subclass are written through
+     * the codec of their own class, which knows their extra properties.
+     */
+    private ObjectCodec<T> writeCodec(T object) {
+        return object != null && object.getClass() == type ? codec : null;
     }
 }
@@ -0,0 +1,78 @@
+package com.reftch.json.parser.impl;
+
+import com.reftch.json.parser.Binding;
+import com.reftch.json.parser.Mapper;
+
+/**
+ * Registry of the shared mapper of each class and binding.
+ *
+ * A mapper holds no mutable state once constructed, so a single instance serves every thread. Lookups
+ * go through a {@link ClassValue} and take no lock; only the first request for a class and binding
+ * enters the lock of its registration to create the mapper, so it is created exactly once.
+ */
+public final class Mappers {
+    private static final ClassValue<Registration<?>> REGISTRATIONS = new ClassValue<>() {
+        @Override
+        protected Registration<?> computeValue(Class<?> type) {
+            return new Registration<>(type);
+        }
+    };
+
+    private Mappers() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Mapper<T> of(Class<T> type, Binding binding) {
+        if (type == null) {
+            throw new IllegalArgumentException("Class cannot be null");
+        }
+        if (binding == null) {
+            throw new IllegalArgumentException("Binding cannot be null");
+        }
+        return ((Registration<T>) REGISTRATIONS.get(type)).mapper(binding);
+    }
+
+    /**
+     * Creates a mapper that reads only the given properties of a class. Projections are not shared,
+     * since each one depends on its list of properties.
+     */
+    public static <T> Mapper<T> projection(Class<T> type, String... properties) {
+        if (type == null) {
+            throw new IllegalArgumentException("Class cannot be null");
+        }
+        return new MapperImpl<>(type, new ProjectionCodec<>(type, properties));
+    }
+
+    /**
+     * The mappers of one class. Racing threads may each compute a registration, but the class value
+     * publishes only one of them, and each of its mappers is created under its lock. Only the creation
+     * of a mapper locks; once created, it is read from a volatile field without a lock.
+     */
+    private static final class Registration<T> {
+        private final Class<T> type;
+        private volatile Mapper<T> reflection;
+        private volatile Mapper<T> bytecode;
+
+        Registration(Class<T> type) {
+            this.type = type;
+        }
+
+        Mapper<T> mapper(Binding binding) {
+            var result = binding == Binding.BYTECODE ? bytecode : reflection;
+            if (result == null) {
+                synchronized (this) {
+                    result = binding == Binding.BYTECODE ? bytecode : reflection;
+                    if (result == null) {
+                        result = new MapperImpl<>(type, binding);
+                        if (binding == Binding.BYTECODE) {
+                            bytecode = result;
+                        } else {
+                            reflection = result;
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
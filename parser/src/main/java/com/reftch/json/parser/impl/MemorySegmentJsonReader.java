@@ -0,0 +1,62 @@
+package com.reftch.json.parser.impl;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link JsonReader} over UTF-8 bytes of a {@link MemorySegment}, typically a memory-mapped file.
+ *
+ * Segments are addressed with {@code long} offsets while the lexer works with {@code int} ones, so the
+ * reader sees a window of at most {@link #WINDOW_SIZE} bytes that starts at {@code base}. Refilling moves
+ * the window forward to the token being scanned without copying anything, which lets documents of any
+ * size be read as long as no single token is larger than the window. Only the bytes of string values
+ * that are read get copied into a reusable scratch array for decoding.
+ */
+final class MemorySegmentJsonReader extends JsonReader {
+    static final int WINDOW_SIZE = 1 << 30;
+
+    private final MemorySegment segment;
+    private final int windowSize;
+    private long base;
+    private byte[] scratch = new byte[64];
+
+    MemorySegmentJsonReader(MemorySegment segment) {
+        this(segment, WINDOW_SIZE);
+    }
+
+    MemorySegmentJsonReader(MemorySegment segment, int windowSize) {
+        super(0, (int) Math.min(segment.byteSize(), windowSize));
+        this.segment = segment;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    protected int at(int i) {
+        return segment.get(ValueLayout.JAVA_BYTE, base + i) & 0xFF;
+    }
+
+    @Override
+    protected String text(int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, base + start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean refill(int keep) {
+        if (keep > 0) {
+            base += keep;
+            shift(keep);
+        }
+        int available = (int) Math.min(segment.byteSize() - base, windowSize);
+        if (available == limit) {
+            return false;
+        }
+        limit = available;
+        return true;
+    }
+}
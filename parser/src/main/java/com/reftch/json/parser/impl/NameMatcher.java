@@ -0,0 +1,123 @@
+package com.reftch.json.parser.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves property names to their index straight from the code units of a name token.
+ *
+ * ASCII names are placed in an open-addressing table keyed by the same hash the lexer computes while
+ * scanning a name, and the table is grown until no two names share a slot, so a lookup is one probe
+ * plus a comparison against the token in place. Names that are not plain ASCII go through a map.
+ */
+final class NameMatcher {
+    private static final int MAX_TABLE_SIZE = 1 << 12;
+
+    private final String[] names;
+    private final int[] hashes;
+    private final int[] table;
+    private final int mask;
+    private final Map<String, Integer> indexes;
+
+    NameMatcher(String[] names) {
+        this.names = names;
+        this.hashes = new int[names.length];
+        this.indexes = new HashMap<>();
+
+        for (int i = 0; i < names.length; i++) {
+            hashes[i] = hash(names[i]);
+            indexes.put(names[i], i);
+        }
+
+        int size = Integer.highestOneBit(Math.max(1, names.length) * 2 - 1) << 1;
+        while (size < MAX_TABLE_SIZE && !isCollisionFree(size)) {
+            size <<= 1;
+        }
+        this.table = new int[size];
+        this.mask = size - 1;
+        for (int i = 0; i < names.length; i++) {
+            if (!isAscii(names[i])) {
+                continue;
+            }
+            int slot = spread(hashes[i]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+    }
+
+    /**
+     * Hash of a name as the lexer computes it, one code unit at a time.
+     */
+    static int hash(int hash, int c) {
+        return 31 * hash + c;
+    }
+
+    /**
+     * Returns the index of the ASCII name in {@code [start, end)} of the reader window, or -1.
+     */
+    int match(JsonReader reader, int start, int end, int hash) {
+        int slot = spread(hash) & mask;
+        for (int entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            int index = entry - 1;
+            if (hashes[index] == hash && matches(reader, start, end, names[index])) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of a decoded name, or -1.
+     */
+    int indexOf(String name) {
+        var index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    private boolean isCollisionFree(int size) {
+        var used = new boolean[size];
+        for (int i = 0; i < names.length; i++) {
+            int slot = spread(hashes[i]) & (size - 1);
+            if (used[slot]) {
+                return false;
+            }
+            used[slot] = true;
+        }
+        return true;
+    }
+
+    private static boolean matches(JsonReader reader, int start, int end, String name) {
+        if (end - start != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (reader.at(start + i) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(String name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash = hash(hash, name.charAt(i));
+        }
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean isAscii(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,309 @@
+package com.reftch.json.parser.impl;
+
+import java.math.BigInteger;
+
+/**
+ * Parses number tokens straight from the code units of a {@link JsonReader} window.
+ *
+ * Integers are accumulated digit by digit with overflow checks. Floating point values use an exact
+ * fast path when the decimal mantissa and power of ten are both exactly representable (Clinger), then
+ * the Eisel-Lemire algorithm, and only fall back to the JDK parser for the rare inputs neither can decide:
+ * more than 19 significant digits, half-way ambiguities, or literals outside plain JSON number syntax.
+ * Results are identical to {@link Double#parseDouble(String)} and {@link Float#parseFloat(String)}.
+ */
+final class NumberParser {
+    private static final int MIN_EXP10 = -342;
+    private static final int MAX_EXP10 = 308;
+    private static final int MAX_DIGITS = 19;
+
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+
+    /**
+     * The 128-bit significand of 10^q for every q in [MIN_EXP10, MAX_EXP10], high word first,
+     * normalized so that the top bit is set; truncated for q >= 0 and rounded up for q < 0.
+     */
+    private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+    private NumberParser() {
+    }
+
+    static int parseInt(JsonReader reader, int start, int end) {
+        long value = parseLong(reader, start, end);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw invalid(reader, start, end);
+        }
+        return (int) value;
+    }
+
+    static long parseLong(JsonReader reader, int start, int end) {
+        int i = start;
+        boolean negative = i < end && reader.at(i) == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == end) {
+            throw invalid(reader, start, end);
+        }
+
+        // Accumulate negatively so that Long.MIN_VALUE is reachable
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = reader.at(i) - '0';
+            if (digit < 0 || digit > 9 || value < Long.MIN_VALUE / 10) {
+                throw invalid(reader, start, end);
+            }
+            value *= 10;
+            if (value < Long.MIN_VALUE + digit) {
+                throw invalid(reader, start, end);
+            }
+            value -= digit;
+        }
+        if (!negative) {
+            if (value == Long.MIN_VALUE) {
+                throw invalid(reader, start, end);
+            }
+            return -value;
+        }
+        return value;
+    }
+
+    static double parseDouble(JsonReader reader, int start, int end) {
+        double value = parse(reader, start, end, false);
+        return Double.isNaN(value) ? Double.parseDouble(reader.text(start, end)) : value;
+    }
+
+    static float parseFloat(JsonReader reader, int start, int end) {
+        double value = parse(reader, start, end, true);
+        return Double.isNaN(value) ? Float.parseFloat(reader.text(start, end)) : (float) value;
+    }
+
+    /**
+     * Decomposes the token into a decimal mantissa and power of ten and converts it.
+     * Returns NaN when the JDK parser has to decide; for {@code single} the result is an exact float.
+     */
+    private static double parse(JsonReader reader, int start, int end, boolean single) {
+        int i = start;
+        boolean negative = i < end && reader.at(i) == '-';
+        if (negative) {
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exp10 = 0;
+        int c = 0;
+
+        int integerStart = i;
+        for (; i < end && (c = reader.at(i)) >= '0' && c <= '9'; i++) {
+            if (digits == 0 && c == '0') {
+                continue;
+            }
+            if (digits == MAX_DIGITS) {
+                return Double.NaN;
+            }
+            mantissa = mantissa * 10 + (c - '0');
+            digits++;
+        }
+        if (i == integerStart) {
+            return Double.NaN;
+        }
+
+        if (i < end && c == '.') {
+            int fractionStart = ++i;
+            for (; i < end && (c = reader.at(i)) >= '0' && c <= '9'; i++) {
+                exp10--;
+                if (digits == 0 && c == '0') {
+                    continue;
+                }
+                if (digits == MAX_DIGITS) {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+            }
+            if (i == fractionStart) {
+                return Double.NaN;
+            }
+        }
+
+        if (i < end && (c == 'e' || c == 'E')) {
+            i++;
+            boolean negativeExponent = i < end && reader.at(i) == '-';
+            if (i < end && (negativeExponent || reader.at(i) == '+')) {
+                i++;
+            }
+            int exponentStart = i;
+            int exponent = 0;
+            for (; i < end && (c = reader.at(i)) >= '0' && c <= '9'; i++) {
+                if (exponent < 100_000) {
+                    exponent = exponent * 10 + (c - '0');
+                }
+            }
+            if (i == exponentStart) {
+                return Double.NaN;
+            }
+            exp10 += negativeExponent ? -exponent : exponent;
+        }
+
+        if (i != end) {
+            return Double.NaN;
+        }
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        return single ? toFloat(mantissa, exp10, negative) : toDouble(mantissa, exp10, negative);
+    }
+
+    private static double toDouble(long mantissa, int exp10, boolean negative) {
+        // Both operands exact, so the single rounding of the operation is the correct one
+        if (mantissa >= 0 && mantissa <= 1L << 53 && exp10 >= -22 && exp10 <= 22) {
+            double value = mantissa;
+            value = exp10 < 0 ? value / DOUBLE_POWERS_OF_TEN[-exp10] : value * DOUBLE_POWERS_OF_TEN[exp10];
+            return negative ? -value : value;
+        }
+        if (exp10 < MIN_EXP10 || exp10 > MAX_EXP10) {
+            return Double.NaN;
+        }
+
+        int clz = Long.numberOfLeadingZeros(mantissa);
+        mantissa <<= clz;
+        long exp2 = (217706 * exp10 >> 16) + 64 + 1023 - clz;
+
+        int index = (exp10 - MIN_EXP10) * 2;
+        long high = Math.unsignedMultiplyHigh(mantissa, POWERS_OF_FIVE[index]);
+        long low = mantissa * POWERS_OF_FIVE[index];
+
+        if ((high & 0x1FF) == 0x1FF && Long.compareUnsigned(low + mantissa, mantissa) < 0) {
+            long wideHigh = Math.unsignedMultiplyHigh(mantissa, POWERS_OF_FIVE[index + 1]);
+            long wideLow = mantissa * POWERS_OF_FIVE[index + 1];
+            long mergedHigh = high;
+            long mergedLow = low + wideHigh;
+            if (Long.compareUnsigned(mergedLow, low) < 0) {
+                mergedHigh++;
+            }
+            if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow + 1 == 0
+                    && Long.compareUnsigned(wideLow + mantissa, mantissa) < 0) {
+                return Double.NaN;
+            }
+            high = mergedHigh;
+            low = mergedLow;
+        }
+
+        long msb = high >>> 63;
+        long bits = high >>> (msb + 9);
+        exp2 -= 1 ^ msb;
+
+        if (low == 0 && (high & 0x1FF) == 0 && (bits & 3) == 1) {
+            return Double.NaN;
+        }
+
+        bits += bits & 1;
+        bits >>>= 1;
+        if (bits >>> 53 > 0) {
+            bits >>>= 1;
+            exp2++;
+        }
+        // Subnormal, infinite or NaN results are left to the JDK
+        if (exp2 < 1 || exp2 >= 0x7FF) {
+            return Double.NaN;
+        }
+
+        bits = exp2 << 52 | bits & 0x000F_FFFF_FFFF_FFFFL;
+        if (negative) {
+            bits |= Long.MIN_VALUE;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    private static double toFloat(long mantissa, int exp10, boolean negative) {
+        if (mantissa >= 0 && mantissa <= 1L << 24 && exp10 >= -10 && exp10 <= 10) {
+            float value = mantissa;
+            value = exp10 < 0 ? value / FLOAT_POWERS_OF_TEN[-exp10] : value * FLOAT_POWERS_OF_TEN[exp10];
+            return negative ? -value : value;
+        }
+        if (exp10 < MIN_EXP10 || exp10 > MAX_EXP10) {
+            return Double.NaN;
+        }
+
+        int clz = Long.numberOfLeadingZeros(mantissa);
+        mantissa <<= clz;
+        long exp2 = (217706 * exp10 >> 16) + 64 + 127 - clz;
+
+        int index = (exp10 - MIN_EXP10) * 2;
+        long high = Math.unsignedMultiplyHigh(mantissa, POWERS_OF_FIVE[index]);
+        long low = mantissa * POWERS_OF_FIVE[index];
+
+        if ((high & 0x3F_FFFF_FFFFL) == 0x3F_FFFF_FFFFL && Long.compareUnsigned(low + mantissa, mantissa) < 0) {
+            long wideHigh = Math.unsignedMultiplyHigh(mantissa, POWERS_OF_FIVE[index + 1]);
+            long wideLow = mantissa * POWERS_OF_FIVE[index + 1];
+            long mergedHigh = high;
+            long mergedLow = low + wideHigh;
+            if (Long.compareUnsigned(mergedLow, low) < 0) {
+                mergedHigh++;
+            }
+            if ((mergedHigh & 0x3F_FFFF_FFFFL) == 0x3F_FFFF_FFFFL && mergedLow + 1 == 0
+                    && Long.compareUnsigned(wideLow + mantissa, mantissa) < 0) {
+                return Double.NaN;
+            }
+            high = mergedHigh;
+            low = mergedLow;
+        }
+
+        long msb = high >>> 63;
+        long bits = high >>> (msb + 38);
+        exp2 -= 1 ^ msb;
+
+        if (low == 0 && (high & 0x3F_FFFF_FFFFL) == 0 && (bits & 3) == 1) {
+            return Double.NaN;
+        }
+
+        bits += bits & 1;
+        bits >>>= 1;
+        if (bits >>> 24 > 0) {
+            bits >>>= 1;
+            exp2++;
+        }
+        if (exp2 < 1 || exp2 >= 0xFF) {
+            return Double.NaN;
+        }
+
+        int floatBits = (int) (exp2 << 23 | bits & 0x007F_FFFF);
+        if (negative) {
+            floatBits |= Integer.MIN_VALUE;
+        }
+        return Float.intBitsToFloat(floatBits);
+    }
+
+    private static NumberFormatException invalid(JsonReader reader, int start, int end) {
+        return new NumberFormatException("For input string: \"" + reader.text(start, end) + "\"");
+    }
+
+    private static long[] powersOfFive() {
+        var powers = new long[(MAX_EXP10 - MIN_EXP10 + 1) * 2];
+        var twoTo128 = BigInteger.ONE.shiftLeft(128);
+        for (int q = MIN_EXP10; q <= MAX_EXP10; q++) {
+            BigInteger significand;
+            if (q >= 0) {
+                var power = BigInteger.valueOf(5).pow(q);
+                int shift = 128 - power.bitLength();
+                significand = shift >= 0 ? power.shiftLeft(shift) : power.shiftRight(-shift);
+            } else {
+                var power = BigInteger.valueOf(5).pow(-q);
+                int z = power.subtract(BigInteger.ONE).bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                significand = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+                while (significand.compareTo(twoTo128) >= 0) {
+                    significand = significand.shiftRight(1);
+                }
+            }
+            int index = (q - MIN_EXP10) * 2;
+            powers[index] = significand.shiftRight(64).longValue();
+            powers[index + 1] = significand.longValue();
+        }
+        return powers;
+    }
+}
@@ -0,0 +1,394 @@
+package com.reftch.json.parser.impl;
+
+import java.math.BigInteger;
+
+/**
+ * Formats numbers into a caller-supplied {@code char[]} without allocating.
+ *
+ * Integers are written right to left two digits at a time from a lookup table. Floating point values
+ * use the Schubfach algorithm (R. Giulietti, "The Schubfach way to render doubles") to find the shortest
+ * decimal that rounds back to the same value, and are laid out exactly as {@link Double#toString(double)}
+ * and {@link Float#toString(float)} do.
+ */
+final class NumberWriter {
+    /**
+     * Enough room for any value written by this class, e.g. {@code -2.2250738585072014E-308}.
+     */
+    static final int MAX_CHARS = 32;
+
+    private static final int DOUBLE_PRECISION = 53;
+    private static final int DOUBLE_Q_MIN = -1074;
+    private static final long DOUBLE_C_MIN = 1L << 52;
+    private static final long DOUBLE_C_TINY = 3;
+
+    private static final int FLOAT_PRECISION = 24;
+    private static final int FLOAT_Q_MIN = -149;
+    private static final int FLOAT_C_MIN = 1 << 23;
+    private static final int FLOAT_C_TINY = 8;
+
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final long MASK_63 = Long.MAX_VALUE;
+    private static final long MASK_32 = 0xFFFF_FFFFL;
+
+    private static final char[] DIGIT_PAIRS = digitPairs();
+    private static final long[] POWERS_OF_TEN = powersOfTen();
+
+    /**
+     * g = floor(10^-k 2^(125 - floor(log2(10^-k)))) + 1 for every k in [K_MIN, K_MAX],
+     * split into its upper 63 bits and lower 63 bits.
+     */
+    private static final long[] G = g();
+
+    private NumberWriter() {
+    }
+
+    static int write(int value, char[] buf, int pos) {
+        if (value < 0) {
+            buf[pos++] = '-';
+            if (value == Integer.MIN_VALUE) {
+                // 2147483648 does not fit a positive int
+                buf[pos++] = '2';
+                value = 147483648;
+            } else {
+                value = -value;
+            }
+        }
+        int end = pos + digitCount(value);
+        int i = end;
+        while (value >= 100) {
+            int q = value / 100;
+            int pair = (value - q * 100) << 1;
+            buf[--i] = DIGIT_PAIRS[pair + 1];
+            buf[--i] = DIGIT_PAIRS[pair];
+            value = q;
+        }
+        if (value >= 10) {
+            buf[--i] = DIGIT_PAIRS[(value << 1) + 1];
+            buf[--i] = DIGIT_PAIRS[value << 1];
+        } else {
+            buf[--i] = (char) ('0' + value);
+        }
+        return end;
+    }
+
+    static int write(long value, char[] buf, int pos) {
+        if (value == (int) value) {
+            return write((int) value, buf, pos);
+        }
+        if (value < 0) {
+            buf[pos++] = '-';
+            if (value == Long.MIN_VALUE) {
+                // 9223372036854775808 does not fit a positive long
+                buf[pos++] = '9';
+                value = 223372036854775808L;
+            } else {
+                value = -value;
+            }
+        }
+        int end = pos + digitCount(value);
+        writeDigits(value, buf, end);
+        return end;
+    }
+
+    static int write(double value, char[] buf, int pos) {
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & (DOUBLE_C_MIN - 1);
+        int bq = (int) (bits >>> 52) & 0x7FF;
+        if (bq == 0x7FF) {
+            return special(t != 0, bits < 0, buf, pos);
+        }
+        if (bits < 0) {
+            buf[pos++] = '-';
+        }
+        if (bq != 0) {
+            int mq = -DOUBLE_Q_MIN + 1 - bq;
+            long c = DOUBLE_C_MIN | t;
+            // Integers below 2^53 are their own shortest decimal
+            if (0 < mq && mq < DOUBLE_PRECISION) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return format(f, 0, buf, pos);
+                }
+            }
+            return toDecimal(-mq, c, 0, buf, pos);
+        }
+        if (t != 0) {
+            return t < DOUBLE_C_TINY
+                    ? toDecimal(DOUBLE_Q_MIN, 10 * t, -1, buf, pos)
+                    : toDecimal(DOUBLE_Q_MIN, t, 0, buf, pos);
+        }
+        return zero(buf, pos);
+    }
+
+    static int write(float value, char[] buf, int pos) {
+        int bits = Float.floatToRawIntBits(value);
+        int t = bits & (FLOAT_C_MIN - 1);
+        int bq = (bits >>> 23) & 0xFF;
+        if (bq == 0xFF) {
+            return special(t != 0, bits < 0, buf, pos);
+        }
+        if (bits < 0) {
+            buf[pos++] = '-';
+        }
+        if (bq != 0) {
+            int mq = -FLOAT_Q_MIN + 1 - bq;
+            int c = FLOAT_C_MIN | t;
+            if (0 < mq && mq < FLOAT_PRECISION) {
+                int f = c >> mq;
+                if (f << mq == c) {
+                    return format(f, 0, buf, pos);
+                }
+            }
+            return toDecimal(-mq, c, 0, buf, pos);
+        }
+        if (t != 0) {
+            return t < FLOAT_C_TINY
+                    ? toDecimal(FLOAT_Q_MIN, 10 * t, -1, buf, pos)
+                    : toDecimal(FLOAT_Q_MIN, t, 0, buf, pos);
+        }
+        return zero(buf, pos);
+    }
+
+    /**
+     * Finds the shortest decimal in the rounding interval of c 2^q, picking the one closest to it.
+     */
+    private static int toDecimal(int q, long c, int dk, char[] buf, int pos) {
+        int out = (int) c & 1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        // The interval is asymmetric at a power of two
+        if (c != DOUBLE_C_MIN || q == DOUBLE_Q_MIN) {
+            cbl = cb - 2;
+            k = floorLog10Pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = floorLog10ThreeQuartersPow2(q);
+        }
+        int h = q + floorLog2Pow10(-k) + 2;
+
+        long g1 = G[(k - K_MIN) << 1];
+        long g0 = G[(k - K_MIN) << 1 | 1];
+        long vb = roundToOdd(g1, g0, cb << h);
+        long vbl = roundToOdd(g1, g0, cbl << h);
+        long vbr = roundToOdd(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            // Prefer one digit less when a multiple of ten is inside the interval
+            long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return format(upin ? sp10 : tp10, k, buf, pos);
+            }
+        }
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return format(uin ? s : t, k + dk, buf, pos);
+        }
+        long cmp = vb - (s + t << 1);
+        return format(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, buf, pos);
+    }
+
+    private static int toDecimal(int q, int c, int dk, char[] buf, int pos) {
+        int out = c & 1;
+        long cb = (long) c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != FLOAT_C_MIN || q == FLOAT_Q_MIN) {
+            cbl = cb - 2;
+            k = floorLog10Pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = floorLog10ThreeQuartersPow2(q);
+        }
+        int h = q + floorLog2Pow10(-k) + 33;
+
+        long g = G[(k - K_MIN) << 1] + 1;
+        int vb = roundToOdd(g, cb << h);
+        int vbl = roundToOdd(g, cbl << h);
+        int vbr = roundToOdd(g, cbr << h);
+
+        int s = vb >> 2;
+        if (s >= 100) {
+            int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return format(upin ? sp10 : tp10, k, buf, pos);
+            }
+        }
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return format(uin ? s : t, k + dk, buf, pos);
+        }
+        int cmp = vb - (s + t << 1);
+        return format(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, buf, pos);
+    }
+
+    private static long roundToOdd(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    private static int roundToOdd(long g, long cp) {
+        long x1 = Math.multiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+        return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+    }
+
+    /**
+     * Lays out f 10^e like {@code Double.toString}: plain notation for 10^-3 <= |v| < 10^7,
+     * computerized scientific notation otherwise, always with a digit after the point.
+     */
+    private static int format(long f, int e, char[] buf, int pos) {
+        int length = digitCount(f);
+        // Strip trailing zeros, they only move the exponent
+        while (length > 1 && f % 10 == 0) {
+            f /= 10;
+            length--;
+            e++;
+        }
+        // Exponent of the form 0.ddd 10^exponent
+        int exponent = e + length;
+
+        if (0 < exponent && exponent <= 7) {
+            if (length <= exponent) {
+                writeDigits(f, buf, pos + length);
+                pos += length;
+                for (int i = length; i < exponent; i++) {
+                    buf[pos++] = '0';
+                }
+                buf[pos++] = '.';
+                buf[pos++] = '0';
+                return pos;
+            }
+            writeDigits(f, buf, pos + length + 1);
+            System.arraycopy(buf, pos + 1, buf, pos, exponent);
+            buf[pos + exponent] = '.';
+            return pos + length + 1;
+        }
+        if (-3 < exponent && exponent <= 0) {
+            buf[pos++] = '0';
+            buf[pos++] = '.';
+            for (int i = exponent; i < 0; i++) {
+                buf[pos++] = '0';
+            }
+            writeDigits(f, buf, pos + length);
+            return pos + length;
+        }
+
+        writeDigits(f, buf, pos + length + 1);
+        buf[pos] = buf[pos + 1];
+        buf[pos + 1] = '.';
+        pos += length + 1;
+        if (length == 1) {
+            buf[pos++] = '0';
+        }
+        buf[pos++] = 'E';
+        return write(exponent - 1, buf, pos);
+    }
+
+    private static int zero(char[] buf, int pos) {
+        buf[pos++] = '0';
+        buf[pos++] = '.';
+        buf[pos++] = '0';
+        return pos;
+    }
+
+    private static int special(boolean nan, boolean negative, char[] buf, int pos) {
+        var text = nan ? "NaN" : negative ? "-Infinity" : "Infinity";
+        text.getChars(0, text.length(), buf, pos);
+        return pos + text.length();
+    }
+
+    /**
+     * Writes the digits of a non-negative value so that the last one lands just before {@code end}.
+     */
+    private static void writeDigits(long value, char[] buf, int end) {
+        int i = end;
+        while (value >= 100) {
+            long q = value / 100;
+            int pair = (int) (value - q * 100) << 1;
+            buf[--i] = DIGIT_PAIRS[pair + 1];
+            buf[--i] = DIGIT_PAIRS[pair];
+            value = q;
+        }
+        if (value >= 10) {
+            buf[--i] = DIGIT_PAIRS[((int) value << 1) + 1];
+            buf[--i] = DIGIT_PAIRS[(int) value << 1];
+        } else {
+            buf[--i] = (char) ('0' + value);
+        }
+    }
+
+    private static int digitCount(long value) {
+        if (value < 10) {
+            return 1;
+        }
+        // floor(log10(2) * bit length) is the digit count or one less
+        int count = (64 - Long.numberOfLeadingZeros(value)) * 1233 >>> 12;
+        return value >= POWERS_OF_TEN[count] ? count + 1 : count;
+    }
+
+    private static int floorLog10Pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    private static int floorLog10ThreeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L - 274_743_187_321L >> 41);
+    }
+
+    private static int floorLog2Pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    private static char[] digitPairs() {
+        var pairs = new char[200];
+        for (int i = 0; i < 100; i++) {
+            pairs[i << 1] = (char) ('0' + i / 10);
+            pairs[(i << 1) + 1] = (char) ('0' + i % 10);
+        }
+        return pairs;
+    }
+
+    private static long[] powersOfTen() {
+        var powers = new long[19];
+        powers[0] = 1;
+        for (int i = 1; i < powers.length; i++) {
+            powers[i] = powers[i - 1] * 10;
+        }
+        return powers;
+    }
+
+    private static long[] g() {
+        var g = new long[(K_MAX - K_MIN + 1) * 2];
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int shift = 125 - floorLog2Pow10(-k);
+            BigInteger value;
+            if (k <= 0) {
+                value = BigInteger.TEN.pow(-k).shiftLeft(shift);
+            } else {
+                value = BigInteger.ONE.shiftLeft(shift).divide(BigInteger.TEN.pow(k));
+            }
+            value = value.add(BigInteger.ONE);
+            g[(k - K_MIN) << 1] = value.shiftRight(63).longValue();
+            g[(k - K_MIN) << 1 | 1] = value.longValue() & MASK_63;
+        }
+        return g;
+    }
+}
@@ -0,0 +1,23 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+
+import com.reftch.json.parser.MapperException;
+
+/**
+ * Reads and writes the JSON object form of one class.
+ *
+ * Implementations are stateless and shared by every mapper of the class; see {@link Codecs#of(Class)}.
+ */
+interface ObjectCodec<T> {
+
+    /**
+     * Reads the next value, an object or {@code null}.
+     */
+    T read(JsonReader reader) throws MapperException;
+
+    /**
+     * Writes a non-null value as a JSON object.
+     */
+    void write(T value, JsonWriter writer) throws IOException;
+}
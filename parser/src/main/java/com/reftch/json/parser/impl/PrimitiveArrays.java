@@ -0,0 +1,256 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+
+import com.reftch.json.parser.MapperException;
+
+/**
+ * Codecs for arrays of primitives that read elements straight into a growing primitive array
+ * and write them straight from it, so no element is ever boxed.
+ */
+final class PrimitiveArrays {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private PrimitiveArrays() {
+    }
+
+    /**
+     * Reads a JSON array into a new array of the primitive {@code componentType}.
+     * A {@code byte[]} also accepts a Base64 string.
+     */
+    static Object read(JsonReader reader, Class<?> componentType) throws MapperException {
+        return switch (componentType) {
+            case Class<?> t when t == int.class -> readInts(reader);
+            case Class<?> t when t == long.class -> readLongs(reader);
+            case Class<?> t when t == double.class -> readDoubles(reader);
+            case Class<?> t when t == float.class -> readFloats(reader);
+            case Class<?> t when t == short.class -> readShorts(reader);
+            case Class<?> t when t == byte.class -> readBytes(reader);
+            case Class<?> t when t == char.class -> readChars(reader);
+            case Class<?> t when t == boolean.class -> readBooleans(reader);
+            default -> throw new IllegalArgumentException("Not a primitive type: " + componentType);
+        };
+    }
+
+    static int[] readInts(JsonReader reader) throws MapperException {
+        var values = new int[INITIAL_CAPACITY];
+        int size = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = reader.nextInt();
+        }
+        reader.endArray();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    static long[] readLongs(JsonReader reader) throws MapperException {
+        var values = new long[INITIAL_CAPACITY];
+        int size = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = reader.nextLong();
+        }
+        reader.endArray();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    static double[] readDoubles(JsonReader reader) throws MapperException {
+        var values = new double[INITIAL_CAPACITY];
+        int size = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = reader.nextDouble();
+        }
+        reader.endArray();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    static float[] readFloats(JsonReader reader) throws MapperException {
+        var values = new float[INITIAL_CAPACITY];
+        int size = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = reader.nextFloat();
+        }
+        reader.endArray();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    static short[] readShorts(JsonReader reader) throws MapperException {
+        var values = new short[INITIAL_CAPACITY];
+        int size = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = reader.nextShort();
+        }
+        reader.endArray();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    static byte[] readBytes(JsonReader reader) throws MapperException {
+        if (reader.peek() == JsonToken.STRING) {
+            return Base64.getDecoder().decode(reader.nextString());
+        }
+
+        var values = new byte[INITIAL_CAPACITY];
+        int size = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = reader.nextByte();
+        }
+        reader.endArray();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    static char[] readChars(JsonReader reader) throws MapperException {
+        var values = new char[INITIAL_CAPACITY];
+        int size = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = reader.nextChar();
+        }
+        reader.endArray();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    static boolean[] readBooleans(JsonReader reader) throws MapperException {
+        var values = new boolean[INITIAL_CAPACITY];
+        int size = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = reader.nextBoolean();
+        }
+        reader.endArray();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    static void write(int[] array, JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writer.comma();
+            }
+            writer.value(array[i]);
+            writer.flushIfFull();
+        }
+        writer.endArray();
+    }
+
+    static void write(long[] array, JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writer.comma();
+            }
+            writer.value(array[i]);
+            writer.flushIfFull();
+        }
+        writer.endArray();
+    }
+
+    static void write(double[] array, JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writer.comma();
+            }
+            writer.value(array[i]);
+            writer.flushIfFull();
+        }
+        writer.endArray();
+    }
+
+    static void write(float[] array, JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writer.comma();
+            }
+            writer.value(array[i]);
+            writer.flushIfFull();
+        }
+        writer.endArray();
+    }
+
+    static void write(short[] array, JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writer.comma();
+            }
+            writer.value(array[i]);
+            writer.flushIfFull();
+        }
+        writer.endArray();
+    }
+
+    static void write(byte[] array, JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writer.comma();
+            }
+            writer.value(array[i]);
+            writer.flushIfFull();
+        }
+        writer.endArray();
+    }
+
+    static void write(char[] array, JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writer.comma();
+            }
+            writer.value(array[i]);
+            writer.flushIfFull();
+        }
+        writer.endArray();
+    }
+
+    static void write(boolean[] array, JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writer.comma();
+            }
+            writer.value(array[i]);
+            writer.flushIfFull();
+        }
+        writer.endArray();
+    }
+
+    /**
+     * Writes a {@code byte[]} as a quoted Base64 string; the alphabet needs no escaping.
+     */
+    static void writeBase64(byte[] array, JsonWriter writer) throws IOException {
+        writer.base64Value(array);
+        writer.flushIfFull();
+    }
+}
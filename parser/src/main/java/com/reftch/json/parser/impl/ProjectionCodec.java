@@ -0,0 +1,116 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import com.reftch.json.parser.MapperException;
+
+/**
+ * {@link ObjectCodec} that reads only a chosen subset of the properties of a class.
+ *
+ * Names are matched against the chosen properties alone, so every other member is passed to
+ * {@link JsonReader#skipValue()} without its name being decoded or its value parsed. Once each chosen
+ * property has been read the rest of the object is skipped in one scan, and properties that were not
+ * chosen keep their default value: {@code null}, zero or {@code false} for record components, and
+ * whatever the no-arg constructor set for fields. Writing is not projected.
+ */
+final class ProjectionCodec<T> extends AbstractDeserializer<T> implements ObjectCodec<T> {
+    private final ClassModel<T> model;
+    private final Property[] projected;
+    private final NameMatcher names;
+    private final SerializerImpl<T> serializer = new SerializerImpl<>();
+
+    /**
+     * @throws IllegalArgumentException if the class is not bindable, no property is chosen, or a chosen
+     *                                  name is not a property of the class
+     */
+    ProjectionCodec(Class<T> type, String... properties) {
+        if (!ClassModel.isBindable(type)) {
+            throw new IllegalArgumentException("Class cannot be projected: " + type.getName());
+        }
+        if (properties == null || properties.length == 0) {
+            throw new IllegalArgumentException("At least one property must be projected");
+        }
+        this.model = ClassModel.of(type);
+        var all = Arrays.asList(model.properties());
+        var names = List.copyOf(new LinkedHashSet<>(Arrays.asList(properties)));
+        this.projected = names.stream()
+                .map(name -> all.stream()
+                        .filter(p -> p.name().equals(name))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown property " + name + " of " + type.getName())))
+                .toArray(Property[]::new);
+        this.names = new NameMatcher(names.toArray(String[]::new));
+    }
+
+    @Override
+    public T read(JsonReader reader) throws MapperException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return model.isRecord() ? readRecord(reader) : readRegularClass(reader);
+    }
+
+    private T readRecord(JsonReader reader) throws MapperException {
+        int size = model.properties().length;
+        Object[] references = new Object[size];
+        long[] primitives = new long[size];
+
+        var seen = new boolean[projected.length];
+        int remaining = projected.length;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            int index = reader.nextName(names);
+            if (index < 0) {
+                reader.skipValue();
+                continue;
+            }
+            readSlot(reader, projected[index], references, primitives);
+            if (!seen[index]) {
+                seen[index] = true;
+                if (--remaining == 0) {
+                    reader.skipRemaining();
+                    return model.newRecord(references, primitives);
+                }
+            }
+        }
+        reader.endObject();
+        return model.newRecord(references, primitives);
+    }
+
+    private T readRegularClass(JsonReader reader) throws MapperException {
+        if (!model.isInstantiable()) {
+            throw new MapperException("No default constructor found for class: " + model.type().getName());
+        }
+
+        T object = model.newInstance();
+        var seen = new boolean[projected.length];
+        int remaining = projected.length;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            int index = reader.nextName(names);
+            if (index < 0) {
+                reader.skipValue();
+                continue;
+            }
+            readField(reader, projected[index], object);
+            if (!seen[index]) {
+                seen[index] = true;
+                if (--remaining == 0) {
+                    reader.skipRemaining();
+                    return object;
+                }
+            }
+        }
+        reader.endObject();
+        return object;
+    }
+
+    @Override
+    public void write(T value, JsonWriter writer) throws IOException {
+        serializer.writeObject(value, writer);
+    }
+}
@@ -0,0 +1,342 @@
+package com.reftch.json.parser.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.reftch.json.parser.Base64Encoded;
+
+/**
+ * A bindable property of a {@link ClassModel}: a record component or an instance field.
+ *
+ * Values are read and written through method handles typed to the exact primitive type of the field,
+ * so the {@code getInt}/{@code setInt} style accessors never box.
+ */
+final class Property {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Storage kind of a property, used to dispatch to the matching unboxed accessor.
+     */
+    enum Kind {
+        BOOLEAN, BYTE, SHORT, CHAR, INT, LONG, FLOAT, DOUBLE, OBJECT;
+
+        static Kind of(Class<?> type) {
+            return switch (type) {
+                case Class<?> t when t == boolean.class -> BOOLEAN;
+                case Class<?> t when t == byte.class -> BYTE;
+                case Class<?> t when t == short.class -> SHORT;
+                case Class<?> t when t == char.class -> CHAR;
+                case Class<?> t when t == int.class -> INT;
+                case Class<?> t when t == long.class -> LONG;
+                case Class<?> t when t == float.class -> FLOAT;
+                case Class<?> t when t == double.class -> DOUBLE;
+                default -> OBJECT;
+            };
+        }
+    }
+
+    private final int index;
+    private final String name;
+    private final String jsonName;
+    private final byte[] jsonNameUtf8;
+    private final Class<?> type;
+    private final Type genericType;
+    private final Class<?> elementType;
+    private final ValueCodec codec;
+    private final Kind kind;
+    private final boolean base64;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    Property(int index, String name, Class<?> type, Type genericType, Field field) {
+        this.index = index;
+        this.name = name;
+        this.jsonName = "\"" + name + "\":";
+        this.jsonNameUtf8 = jsonName.getBytes(StandardCharsets.UTF_8);
+        this.type = type;
+        this.genericType = genericType;
+        this.elementType = elementType(type, genericType);
+        this.codec = codec(type, genericType);
+        this.kind = Kind.of(type);
+        this.base64 = type == byte[].class && field.isAnnotationPresent(Base64Encoded.class);
+        this.getter = getter(field);
+        this.setter = setter(field);
+    }
+
+    /**
+     * Position of the property in declaration order, which for records is the constructor parameter index.
+     */
+    int index() {
+        return index;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * The name as written to JSON: quoted and followed by a colon.
+     */
+    String jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * {@link #jsonName()} encoded as UTF-8 once, for writers that produce bytes.
+     */
+    byte[] jsonNameUtf8() {
+        return jsonNameUtf8;
+    }
+
+    Class<?> type() {
+        return type;
+    }
+
+    Type genericType() {
+        return genericType;
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Whether a {@code byte[]} property is written as a Base64 string.
+     */
+    boolean isBase64() {
+        return base64;
+    }
+
+    /**
+     * Element class of a property declared as {@code List<E>} with a class {@code E}, or {@code null}.
+     */
+    Class<?> elementType() {
+        return elementType;
+    }
+
+    /**
+     * Whether the property is a collection, map or optional, which is bound through {@link #codec()}.
+     */
+    boolean isContainer() {
+        return ValueCodecs.isContainer(type);
+    }
+
+    /**
+     * Codec tree of a container or generic array property, or {@code null} for other types and for
+     * containers that cannot be bound, such as raw collections.
+     */
+    ValueCodec codec() {
+        return codec;
+    }
+
+    Object get(Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    boolean getBoolean(Object target) {
+        try {
+            return (boolean) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    byte getByte(Object target) {
+        try {
+            return (byte) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    short getShort(Object target) {
+        try {
+            return (short) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    char getChar(Object target) {
+        try {
+            return (char) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    int getInt(Object target) {
+        try {
+            return (int) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    long getLong(Object target) {
+        try {
+            return (long) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    float getFloat(Object target) {
+        try {
+            return (float) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    double getDouble(Object target) {
+        try {
+            return (double) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    void set(Object target, Object value) {
+        try {
+            writableSetter().invokeExact(target, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    void setBoolean(Object target, boolean value) {
+        try {
+            writableSetter().invokeExact(target, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    void setByte(Object target, byte value) {
+        try {
+            writableSetter().invokeExact(target, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    void setShort(Object target, short value) {
+        try {
+            writableSetter().invokeExact(target, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    void setChar(Object target, char value) {
+        try {
+            writableSetter().invokeExact(target, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    void setInt(Object target, int value) {
+        try {
+            writableSetter().invokeExact(target, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    void setLong(Object target, long value) {
+        try {
+            writableSetter().invokeExact(target, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    void setFloat(Object target, float value) {
+        try {
+            writableSetter().invokeExact(target, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    void setDouble(Object target, double value) {
+        try {
+            writableSetter().invokeExact(target, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    private MethodHandle writableSetter() {
+        if (setter == null) {
+            throw new IllegalStateException("Field is read-only: " + name);
+        }
+        return setter;
+    }
+
+    private RuntimeException accessError(Throwable e) {
+        return switch (e) {
+            case RuntimeException re -> re;
+            case Error error -> throw error;
+            default -> new IllegalStateException("Cannot access field: " + name, e);
+        };
+    }
+
+    private static MethodHandle getter(Field field) {
+        var valueType = field.getType().isPrimitive() ? field.getType() : Object.class;
+        try {
+            return LOOKUP.unreflectGetter(field)
+                    .asType(MethodType.methodType(valueType, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access field: " + field, e);
+        }
+    }
+
+    private static MethodHandle setter(Field field) {
+        if (Modifier.isFinal(field.getModifiers()) && field.getDeclaringClass().isRecord()) {
+            return null;
+        }
+
+        var valueType = field.getType().isPrimitive() ? field.getType() : Object.class;
+        try {
+            return LOOKUP.unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, valueType));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Class<?> elementType(Class<?> type, Type genericType) {
+        if (type == List.class
+                && genericType instanceof ParameterizedType parameterizedType
+                && parameterizedType.getActualTypeArguments()[0] instanceof Class<?> element) {
+            return element;
+        }
+        return null;
+    }
+
+    private static ValueCodec codec(Class<?> type, Type genericType) {
+        if (!ValueCodecs.isContainer(type) && !(genericType instanceof GenericArrayType)) {
+            return null;
+        }
+        try {
+            return ValueCodecs.of(genericType);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
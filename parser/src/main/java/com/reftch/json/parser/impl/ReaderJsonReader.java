@@ -0,0 +1,55 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * {@link JsonReader} over chars read incrementally from a {@link Reader}
+ * into a fixed-size window that only grows for tokens larger than the window.
+ */
+final class ReaderJsonReader extends JsonReader {
+    static final int BUFFER_SIZE = 8 * 1024;
+
+    private final Reader in;
+    private char[] buffer = new char[BUFFER_SIZE];
+
+    ReaderJsonReader(Reader in) {
+        super(0, 0);
+        this.in = in;
+    }
+
+    @Override
+    protected int at(int i) {
+        return buffer[i];
+    }
+
+    @Override
+    protected String text(int start, int end) {
+        return new String(buffer, start, end - start);
+    }
+
+    @Override
+    protected void appendText(StringBuilder sb, int start, int end) {
+        sb.append(buffer, start, end - start);
+    }
+
+    @Override
+    protected boolean refill(int keep) throws IOException {
+        if (limit == buffer.length) {
+            if (keep > 0) {
+                System.arraycopy(buffer, keep, buffer, 0, limit - keep);
+                shift(keep);
+            } else {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read <= 0) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+}
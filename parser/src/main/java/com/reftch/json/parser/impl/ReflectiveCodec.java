@@ -0,0 +1,27 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+
+import com.reftch.json.parser.MapperException;
+
+/**
+ * {@link ObjectCodec} that binds through the reflective {@link ClassModel} of the class.
+ */
+final class ReflectiveCodec<T> extends AbstractDeserializer<T> implements ObjectCodec<T> {
+    private final Class<T> type;
+    private final SerializerImpl<T> serializer = new SerializerImpl<>();
+
+    ReflectiveCodec(Class<T> type) {
+        this.type = type;
+    }
+
+    @Override
+    public T read(JsonReader reader) throws MapperException {
+        return readObject(reader, ClassModel.of(type));
+    }
+
+    @Override
+    public void write(T value, JsonWriter writer) throws IOException {
+        serializer.writeObject(value, writer);
+    }
+}
@@ -1,87 +1,198 @@
 package com.reftch.json.parser.impl;
 
-import java.lang.reflect.Array;
-import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
 
 import com.reftch.json.parser.MapperException;
 
 public class SerializerImpl<T> {
 
-    String toJson(T object) throws MapperException {
-        if (object == null) {
-            return "{}";
+    /**
+     * Writes into pooled buffers, so the returned string is the only allocation that grows with the output.
+     * Like every {@code toJson} method it writes {@code object} through {@code codec}, the codec of the
+     * mapper, and falls back to the codec of its runtime class when {@code codec} is {@code null}.
+     */
+    String toJson(T object, ObjectCodec<T> codec) throws MapperException {
+        var buffers = BufferRecycler.INSTANCE.acquire();
+        try {
+            write(object, codec, new CharJsonWriter(null, buffers));
+            return buffers.text.toString();
+        } finally {
+            BufferRecycler.INSTANCE.release(buffers);
         }
+    }
 
-        var clazz = object.getClass();
-        var fields = clazz.getDeclaredFields();
+    void toJson(T object, ObjectCodec<T> codec, Appendable out) throws MapperException {
+        var buffers = BufferRecycler.INSTANCE.acquire();
+        try {
+            write(object, codec, new CharJsonWriter(out, buffers));
+        } finally {
+            BufferRecycler.INSTANCE.release(buffers);
+        }
+    }
 
-        return Arrays.stream(fields)
-                .map(field -> {
-                    try {
-                        field.setAccessible(true);
-                        var name = field.getName();
-                        var value = field.get(object);
-                        field.setAccessible(false);
+    byte[] toJsonBytes(T object, ObjectCodec<T> codec) throws MapperException {
+        var buffers = BufferRecycler.INSTANCE.acquire();
+        try {
+            var writer = new Utf8JsonWriter(buffers);
+            write(object, codec, writer);
+            return writer.toByteArray();
+        } finally {
+            BufferRecycler.INSTANCE.release(buffers);
+        }
+    }
 
-                        return "\"" + name + "\":" + formatValue(value);
-                    } catch (IllegalAccessException e) {
-                        throw new RuntimeException(e);
-                    }
-                })
-                .collect(Collectors.joining(",", "{", "}"));
+    void toJson(T object, ObjectCodec<T> codec, OutputStream out) throws MapperException {
+        var buffers = BufferRecycler.INSTANCE.acquire();
+        try {
+            write(object, codec, new Utf8JsonWriter(out, buffers));
+        } finally {
+            BufferRecycler.INSTANCE.release(buffers);
+        }
+    }
 
+    void toJson(T object, ObjectCodec<T> codec, WritableByteChannel out) throws MapperException {
+        var buffers = BufferRecycler.INSTANCE.acquire();
+        try {
+            write(object, codec, new Utf8JsonWriter(out, buffers));
+        } finally {
+            BufferRecycler.INSTANCE.release(buffers);
+        }
     }
 
-    private String formatValue(Object value) {
-        return switch (value) {
-            case null -> "null";
-            case String s -> "\"" + escapeJsonString(s) + "\"";
-            case Number n -> n.toString();
-            case Boolean b -> b.toString();
-            case Object[] array -> formatArray(array);
-            case int[] array -> formatPrimitiveArray(array);
-            case long[] array -> formatPrimitiveArray(array);
-            case double[] array -> formatPrimitiveArray(array);
-            case float[] array -> formatPrimitiveArray(array);
-            case boolean[] array -> formatPrimitiveArray(array);
-            case byte[] array -> formatPrimitiveArray(array);
-            case short[] array -> formatPrimitiveArray(array);
-            case char[] array -> formatPrimitiveArray(array);
-            default -> "\"" + value.toString() + "\"";
-        };
+    private void write(T object, ObjectCodec<T> codec, JsonWriter writer) throws MapperException {
+        try {
+            if (object == null) {
+                writer.beginObject();
+                writer.endObject();
+            } else if (codec != null) {
+                codec.write(object, writer);
+            } else {
+                writeNested(object, writer);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new MapperException("Error during writing data", e);
+        } catch (RuntimeException e) {
+            throw new MapperException("Error during converting data", e);
+        }
     }
 
-    private String formatArray(Object[] array) {
-        return Arrays.stream(array)
-                .map(this::formatValue)
-                .collect(Collectors.joining(",", "[", "]"));
+    void writeObject(Object object, JsonWriter writer) throws IOException {
+        var properties = ClassModel.of(object.getClass()).properties();
+
+        writer.beginObject();
+        for (int i = 0; i < properties.length; i++) {
+            if (i > 0) {
+                writer.comma();
+            }
+            var property = properties[i];
+            writer.name(property.jsonName(), property.jsonNameUtf8());
+            writeProperty(property, object, writer);
+            writer.flushIfFull();
+        }
+        writer.endObject();
     }
 
-    private String formatPrimitiveArray(Object array) {
-        int length = Array.getLength(array);
-        StringBuilder sb = new StringBuilder("[");
-        
-        for (int i = 0; i < length; i++) {
-            Object element = Array.get(array, i);
-            sb.append(formatValue(element));
-            if (i < length - 1) {
-                sb.append(",");
+    private void writeProperty(Property property, Object object, JsonWriter writer) throws IOException {
+        switch (property.kind()) {
+            case BOOLEAN -> writer.value(property.getBoolean(object));
+            case BYTE -> writer.value(property.getByte(object));
+            case SHORT -> writer.value(property.getShort(object));
+            case CHAR -> writer.value(property.getChar(object));
+            case INT -> writer.value(property.getInt(object));
+            case LONG -> writer.value(property.getLong(object));
+            case FLOAT -> writer.value(property.getFloat(object));
+            case DOUBLE -> writer.value(property.getDouble(object));
+            case OBJECT -> {
+                var value = property.get(object);
+                if (property.isBase64() && value instanceof byte[] bytes) {
+                    PrimitiveArrays.writeBase64(bytes, writer);
+                } else if (property.codec() != null) {
+                    property.codec().write(value, writer);
+                } else {
+                    writeValue(value, writer);
+                }
             }
         }
-        
-        sb.append("]");
-        return sb.toString();
     }
-    
-    private String escapeJsonString(String str) {
-        return str.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\b", "\\b")
-                .replace("\f", "\\f")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t");
+
+    void writeValue(Object value, JsonWriter writer) throws IOException {
+        switch (value) {
+            case null -> writer.nullValue();
+            case String s -> writer.value(s);
+            case Integer n -> writer.value(n.intValue());
+            case Long n -> writer.value(n.longValue());
+            case Double n -> writer.value(n.doubleValue());
+            case Float n -> writer.value(n.floatValue());
+            case Number n -> writer.rawValue(n.toString());
+            case Boolean b -> writer.value(b.booleanValue());
+            case Object[] array -> writeArray(array, writer);
+            case int[] array -> PrimitiveArrays.write(array, writer);
+            case long[] array -> PrimitiveArrays.write(array, writer);
+            case double[] array -> PrimitiveArrays.write(array, writer);
+            case float[] array -> PrimitiveArrays.write(array, writer);
+            case boolean[] array -> PrimitiveArrays.write(array, writer);
+            case byte[] array -> PrimitiveArrays.write(array, writer);
+            case short[] array -> PrimitiveArrays.write(array, writer);
+            case char[] array -> PrimitiveArrays.write(array, writer);
+            case Collection<?> collection -> writeCollection(collection, writer);
+            case Map<?, ?> map -> writeMap(map, writer);
+            case Optional<?> optional -> writeValue(optional.orElse(null), writer);
+            case Enum<?> e -> writer.value(e.name());
+            case Object object when ClassModel.isBindable(object.getClass()) -> writeNested(object, writer);
+            default -> writer.value(value.toString());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeNested(Object object, JsonWriter writer) throws IOException {
+        ((ObjectCodec<Object>) Codecs.of(object.getClass())).write(object, writer);
+    }
+
+    private void writeCollection(Collection<?> collection, JsonWriter writer) throws IOException {
+        writer.beginArray();
+        boolean first = true;
+        for (var element : collection) {
+            if (!first) {
+                writer.comma();
+            }
+            first = false;
+            writeValue(element, writer);
+            writer.flushIfFull();
+        }
+        writer.endArray();
+    }
+
+    private void writeMap(Map<?, ?> map, JsonWriter writer) throws IOException {
+        writer.beginObject();
+        boolean first = true;
+        for (var entry : map.entrySet()) {
+            if (!first) {
+                writer.comma();
+            }
+            first = false;
+            writer.key(entry.getKey() instanceof Enum<?> e ? e.name() : String.valueOf(entry.getKey()));
+            writeValue(entry.getValue(), writer);
+            writer.flushIfFull();
+        }
+        writer.endObject();
+    }
+
+    private void writeArray(Object[] array, JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writer.comma();
+            }
+            writeValue(array[i], writer);
+            writer.flushIfFull();
+        }
+        writer.endArray();
     }
 
 }
@@ -0,0 +1,32 @@
+package com.reftch.json.parser.impl;
+
+/**
+ * {@link JsonReader} over the UTF-16 chars of a {@code String}.
+ */
+final class StringJsonReader extends JsonReader {
+    private final String json;
+
+    StringJsonReader(String json) {
+        this(json, 0, json.length());
+    }
+
+    StringJsonReader(String json, int start, int end) {
+        super(start, end);
+        this.json = json;
+    }
+
+    @Override
+    protected int at(int i) {
+        return json.charAt(i);
+    }
+
+    @Override
+    protected String text(int start, int end) {
+        return json.substring(start, end);
+    }
+
+    @Override
+    protected void appendText(StringBuilder sb, int start, int end) {
+        sb.append(json, start, end);
+    }
+}
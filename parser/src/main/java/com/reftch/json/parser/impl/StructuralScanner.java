@@ -0,0 +1,184 @@
+package com.reftch.json.parser.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import com.reftch.json.parser.MapperException;
+
+/**
+ * Stage one of indexing UTF-8 JSON: finds the positions of all structural characters in one pass over
+ * 64-byte blocks, without a per-byte state machine.
+ *
+ * Each block is classified into bitmaps of quotes, backslashes, operators ({@code {}[]:,}) and whitespace.
+ * Escaped characters follow from the backslash runs, the inside of strings from a prefix XOR over the
+ * unescaped quotes, and the start of every number or literal from the bytes that follow a delimiter.
+ * The result is the ordered list of operators outside strings, both quotes of every string and the first
+ * byte of every scalar, which {@link JsonTree} turns into its tape.
+ *
+ * This class classifies eight bytes at a time within a {@code long}. {@code VectorStructuralScanner} classifies a whole
+ * block with a few vector compares when the {@code jdk.incubator.vector} module is present, and is used
+ * by {@link #instance()} then; everything after classification is shared, so both find the same positions.
+ */
+class StructuralScanner {
+    static final int QUOTE = 0;
+    static final int BACKSLASH = 1;
+    static final int OPERATOR = 2;
+    static final int WHITESPACE = 3;
+
+    static final int BLOCK = 64;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    private static final StructuralScanner INSTANCE = create();
+
+    /**
+     * Positions of the structural characters of a document, in ascending order.
+     */
+    record Structurals(int[] positions, int count) {
+    }
+
+    static StructuralScanner instance() {
+        return INSTANCE;
+    }
+
+    private static StructuralScanner create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                var vector = Class.forName(StructuralScanner.class.getPackageName() + ".VectorStructuralScanner")
+                        .asSubclass(StructuralScanner.class)
+                        .getDeclaredConstructor()
+                        .newInstance();
+                if (vector.isAccelerated()) {
+                    return vector;
+                }
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall through to the scalar classifier
+            }
+        }
+        return new StructuralScanner();
+    }
+
+    /**
+     * Whether {@link #classify} runs on vector hardware.
+     */
+    boolean isAccelerated() {
+        return false;
+    }
+
+    /**
+     * Sets {@code masks[QUOTE..WHITESPACE]} for the {@link #BLOCK} bytes at {@code offset}: bit {@code i}
+     * of each mask describes byte {@code offset + i}.
+     */
+    void classify(byte[] in, int offset, long[] masks) {
+        long quote = 0;
+        long backslash = 0;
+        long operator = 0;
+        long whitespace = 0;
+        for (int i = 0; i < BLOCK; i += Long.BYTES) {
+            long word = (long) LONGS.get(in, offset + i);
+            quote |= gather(equal(word, '"')) << i;
+            backslash |= gather(equal(word, '\\')) << i;
+            // '[' and ']' differ from '{' and '}' only in bit 5, so setting it folds them together
+            long brackets = word | ONES * 0x20;
+            operator |= gather(equal(brackets, '{') | equal(brackets, '}') | equal(word, ':') | equal(word, ',')) << i;
+            whitespace |= gather(equal(word, ' ') | equal(word, '\t') | equal(word, '\n') | equal(word, '\r')) << i;
+        }
+        masks[QUOTE] = quote;
+        masks[BACKSLASH] = backslash;
+        masks[OPERATOR] = operator;
+        masks[WHITESPACE] = whitespace;
+    }
+
+    /**
+     * Sets the high bit of every byte of {@code word} that equals {@code c}, and no other bit.
+     */
+    private static long equal(long word, char c) {
+        long x = word ^ ONES * c;
+        return ~((x & LOW_BITS) + LOW_BITS | x | LOW_BITS);
+    }
+
+    /**
+     * Packs the high bits of the eight bytes of {@code word} into the low eight bits, first byte lowest.
+     */
+    private static long gather(long word) {
+        return (word >>> 7) * 0x0102040810204080L >>> 56;
+    }
+
+    /**
+     * Finds the structural positions of the document in {@code [start, end)} of {@code utf8}.
+     *
+     * @throws MapperException if a string is not terminated
+     */
+    final Structurals scan(byte[] utf8, int start, int end) throws MapperException {
+        var positions = new int[Math.max(16, (end - start) / 4)];
+        int count = 0;
+        var masks = new long[4];
+        var tail = new byte[BLOCK];
+
+        boolean escapeCarry = false;
+        long inStringCarry = 0;
+        long scalarCarry = 0;
+
+        for (int base = start; base < end; base += BLOCK) {
+            if (end - base >= BLOCK) {
+                classify(utf8, base, masks);
+            } else {
+                // Pad the last block with whitespace, which is never structural
+                Arrays.fill(tail, (byte) ' ');
+                System.arraycopy(utf8, base, tail, 0, end - base);
+                classify(tail, 0, masks);
+            }
+
+            // Characters preceded by an odd number of backslashes
+            long escaped = escapeCarry ? 1 : 0;
+            escapeCarry = false;
+            long backslash = masks[BACKSLASH] & ~escaped;
+            while (backslash != 0) {
+                int i = Long.numberOfTrailingZeros(backslash);
+                backslash &= backslash - 1;
+                if (i == BLOCK - 1) {
+                    escapeCarry = true;
+                } else {
+                    escaped |= 1L << (i + 1);
+                    backslash &= ~(1L << (i + 1));
+                }
+            }
+
+            // Prefix XOR over the unescaped quotes: set from an opening quote up to its closing quote
+            long quote = masks[QUOTE] & ~escaped;
+            long inString = quote;
+            inString ^= inString << 1;
+            inString ^= inString << 2;
+            inString ^= inString << 4;
+            inString ^= inString << 8;
+            inString ^= inString << 16;
+            inString ^= inString << 32;
+            inString ^= inStringCarry;
+            inStringCarry = inString >> 63;
+
+            // Runs of bytes outside strings that are neither delimiters nor quotes are numbers or literals
+            long scalar = ~(masks[OPERATOR] | masks[WHITESPACE] | quote | inString);
+            long scalarStart = scalar & ~(scalar << 1 | scalarCarry);
+            scalarCarry = scalar >>> 63;
+
+            long structural = masks[OPERATOR] & ~inString | quote | scalarStart;
+            if (count + Long.bitCount(structural) > positions.length) {
+                positions = Arrays.copyOf(positions, Math.max(positions.length * 2, count + BLOCK));
+            }
+            while (structural != 0) {
+                positions[count++] = base + Long.numberOfTrailingZeros(structural);
+                structural &= structural - 1;
+            }
+        }
+
+        if (inStringCarry != 0) {
+            throw new MapperException("Unterminated string at position " + (end - start));
+        }
+        return new Structurals(positions, count);
+    }
+}
@@ -0,0 +1,187 @@
+package com.reftch.json.parser.impl;
+
+import java.util.AbstractList;
+import java.util.List;
+
+import com.reftch.json.parser.JsonNode;
+import com.reftch.json.parser.MapperException;
+import com.reftch.json.parser.UncheckedMapperException;
+
+/**
+ * A {@link JsonNode} as a position in a {@link JsonTree}. The token indexes of the children of an object
+ * or array are collected on first access, so repeated positional access is constant time.
+ */
+final class TreeNode implements JsonNode {
+    private static final int[] NO_CHILDREN = new int[0];
+
+    private final JsonTree tree;
+    private final int token;
+    private volatile int[] children;
+
+    TreeNode(JsonTree tree, int token) {
+        this.tree = tree;
+        this.token = token;
+    }
+
+    @Override
+    public Type type() {
+        return switch (tree.token(token)) {
+            case BEGIN_OBJECT -> Type.OBJECT;
+            case BEGIN_ARRAY -> Type.ARRAY;
+            case STRING -> Type.STRING;
+            case NUMBER -> Type.NUMBER;
+            case BOOLEAN -> Type.BOOLEAN;
+            default -> Type.NULL;
+        };
+    }
+
+    @Override
+    public int size() {
+        return children().length;
+    }
+
+    @Override
+    public JsonNode get(String name) {
+        if (tree.token(token) != JsonToken.BEGIN_OBJECT) {
+            return null;
+        }
+        try {
+            for (int child : children()) {
+                if (tree.nameEquals(child, name)) {
+                    return tree.node(child + 1);
+                }
+            }
+        } catch (MapperException e) {
+            throw new UncheckedMapperException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public JsonNode get(int index) {
+        if (tree.token(token) != JsonToken.BEGIN_ARRAY) {
+            return null;
+        }
+        var elements = children();
+        return index >= 0 && index < elements.length ? tree.node(elements[index]) : null;
+    }
+
+    @Override
+    public List<String> names() {
+        if (tree.token(token) != JsonToken.BEGIN_OBJECT) {
+            return List.of();
+        }
+        var members = children();
+        var names = new String[members.length];
+        try {
+            for (int i = 0; i < members.length; i++) {
+                names[i] = tree.source().stringAt(tree.start(members[i]), tree.end(members[i]));
+            }
+        } catch (MapperException e) {
+            throw new UncheckedMapperException(e);
+        }
+        return List.of(names);
+    }
+
+    @Override
+    public List<JsonNode> elements() {
+        var children = children();
+        int offset = tree.token(token) == JsonToken.BEGIN_OBJECT ? 1 : 0;
+        return new AbstractList<>() {
+            @Override
+            public JsonNode get(int index) {
+                return tree.node(children[index] + offset);
+            }
+
+            @Override
+            public int size() {
+                return children.length;
+            }
+        };
+    }
+
+    @Override
+    public String asString() {
+        try {
+            return switch (tree.token(token)) {
+                case STRING -> tree.source().stringAt(tree.start(token), tree.end(token));
+                case NUMBER, BOOLEAN -> tree.source().text(tree.start(token), tree.end(token));
+                default -> throw new IllegalStateException("Not a scalar: " + type());
+            };
+        } catch (MapperException e) {
+            throw new UncheckedMapperException(e);
+        }
+    }
+
+    @Override
+    public int asInt() {
+        return tree.token(token) == JsonToken.NUMBER
+                ? NumberParser.parseInt(tree.source(), tree.start(token), tree.end(token))
+                : Integer.parseInt(asString());
+    }
+
+    @Override
+    public long asLong() {
+        return tree.token(token) == JsonToken.NUMBER
+                ? NumberParser.parseLong(tree.source(), tree.start(token), tree.end(token))
+                : Long.parseLong(asString());
+    }
+
+    @Override
+    public double asDouble() {
+        return tree.token(token) == JsonToken.NUMBER
+                ? NumberParser.parseDouble(tree.source(), tree.start(token), tree.end(token))
+                : Double.parseDouble(asString());
+    }
+
+    @Override
+    public boolean asBoolean() {
+        return tree.token(token) == JsonToken.BOOLEAN
+                ? tree.source().at(tree.start(token)) == 't'
+                : Boolean.parseBoolean(asString());
+    }
+
+    @Override
+    public String toJson() {
+        return tree.source().text(tree.start(token), tree.end(token));
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    /**
+     * A reader over the source of this value only, for binding it.
+     */
+    JsonReader reader() {
+        return tree.reader(token);
+    }
+
+    /**
+     * Token indexes of the member names of an object or of the elements of an array.
+     */
+    private int[] children() {
+        var result = children;
+        if (result == null) {
+            var kind = tree.token(token);
+            if (kind != JsonToken.BEGIN_OBJECT && kind != JsonToken.BEGIN_ARRAY) {
+                result = NO_CHILDREN;
+            } else {
+                int step = kind == JsonToken.BEGIN_OBJECT ? 2 : 1;
+                int end = tree.next(token);
+                int size = 0;
+                for (int child = token + 1; child < end; child = tree.next(child + step - 1)) {
+                    size++;
+                }
+                result = new int[size];
+                int i = 0;
+                for (int child = token + 1; child < end; child = tree.next(child + step - 1)) {
+                    result[i++] = child;
+                }
+            }
+            children = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,324 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * {@link JsonWriter} that encodes JSON straight to UTF-8 into a single byte buffer.
+ *
+ * Without a target the buffer grows until {@link #toByteArray()} copies the result out. With an
+ * {@link OutputStream} or a {@link WritableByteChannel} the buffer is handed over in chunks by
+ * {@link #flushIfFull()} and {@link #flush()}. Runs of ASCII text are copied into the buffer in bulk,
+ * and names passed with their pre-encoded bytes are copied as they are.
+ */
+final class Utf8JsonWriter extends JsonWriter {
+    private static final byte[] NULL = { 'n', 'u', 'l', 'l' };
+    private static final byte[] TRUE = { 't', 'r', 'u', 'e' };
+    private static final byte[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+    private final Buffers buffers;
+    private final char[] digits;
+    private byte[] buffer;
+    private int pos;
+
+    private Utf8JsonWriter(OutputStream stream, WritableByteChannel channel, Buffers buffers) {
+        this.stream = stream;
+        this.channel = channel;
+        this.buffers = buffers;
+        this.digits = buffers.digits;
+        if (buffers.bytes == null) {
+            buffers.bytes = new byte[Buffers.INITIAL_CAPACITY];
+        }
+        this.buffer = buffers.bytes;
+    }
+
+    /**
+     * A writer that keeps the whole output, for {@link #toByteArray()}.
+     */
+    Utf8JsonWriter(Buffers buffers) {
+        this(null, null, buffers);
+    }
+
+    Utf8JsonWriter(OutputStream out, Buffers buffers) {
+        this(out, null, buffers);
+    }
+
+    Utf8JsonWriter(WritableByteChannel out, Buffers buffers) {
+        this(null, out, buffers);
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, pos);
+    }
+
+    @Override
+    void beginObject() {
+        put('{');
+    }
+
+    @Override
+    void endObject() {
+        put('}');
+    }
+
+    @Override
+    void beginArray() {
+        put('[');
+    }
+
+    @Override
+    void endArray() {
+        put(']');
+    }
+
+    @Override
+    void comma() {
+        put(',');
+    }
+
+    @Override
+    void name(String jsonName) {
+        raw(jsonName);
+    }
+
+    @Override
+    void name(String jsonName, byte[] utf8JsonName) {
+        put(utf8JsonName);
+    }
+
+    @Override
+    void key(String name) {
+        value(name);
+        put(':');
+    }
+
+    @Override
+    void nullValue() {
+        put(NULL);
+    }
+
+    @Override
+    void value(boolean value) {
+        put(value ? TRUE : FALSE);
+    }
+
+    @Override
+    void value(int value) {
+        digits(NumberWriter.write(value, digits, 0));
+    }
+
+    @Override
+    void value(long value) {
+        digits(NumberWriter.write(value, digits, 0));
+    }
+
+    @Override
+    void value(float value) {
+        digits(NumberWriter.write(value, digits, 0));
+    }
+
+    @Override
+    void value(double value) {
+        digits(NumberWriter.write(value, digits, 0));
+    }
+
+    @Override
+    void value(char value) {
+        put('"');
+        if (value < 128 && ESCAPES[value] != null) {
+            ascii(ESCAPES[value]);
+        } else if (Character.isSurrogate(value)) {
+            unicodeEscape(value);
+        } else {
+            encode(value);
+        }
+        put('"');
+    }
+
+    @Override
+    void value(String value) {
+        put('"');
+        int from = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 128) {
+                var escape = ESCAPES[c];
+                if (escape == null) {
+                    continue;
+                }
+                ascii(value, from, i);
+                ascii(escape);
+            } else {
+                ascii(value, from, i);
+                if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                            && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        encode(Character.toCodePoint(c, value.charAt(++i)));
+                    } else {
+                        // A lone surrogate has no UTF-8 encoding, so it is written as an escape
+                        unicodeEscape(c);
+                    }
+                } else {
+                    encode(c);
+                }
+            }
+            from = i + 1;
+        }
+        ascii(value, from, value.length());
+        put('"');
+    }
+
+    @Override
+    void base64Value(byte[] value) {
+        ensure(4 * ((value.length + 2) / 3) + 2);
+        buffer[pos++] = '"';
+        int i = 0;
+        for (int end = value.length - value.length % 3; i < end; i += 3) {
+            int bits = (value[i] & 0xFF) << 16 | (value[i + 1] & 0xFF) << 8 | value[i + 2] & 0xFF;
+            buffer[pos++] = (byte) BASE64_DIGITS[bits >>> 18];
+            buffer[pos++] = (byte) BASE64_DIGITS[bits >>> 12 & 0x3F];
+            buffer[pos++] = (byte) BASE64_DIGITS[bits >>> 6 & 0x3F];
+            buffer[pos++] = (byte) BASE64_DIGITS[bits & 0x3F];
+        }
+        if (i < value.length) {
+            boolean two = i + 1 < value.length;
+            int bits = (value[i] & 0xFF) << 16 | (two ? (value[i + 1] & 0xFF) << 8 : 0);
+            buffer[pos++] = (byte) BASE64_DIGITS[bits >>> 18];
+            buffer[pos++] = (byte) BASE64_DIGITS[bits >>> 12 & 0x3F];
+            buffer[pos++] = (byte) (two ? BASE64_DIGITS[bits >>> 6 & 0x3F] : '=');
+            buffer[pos++] = '=';
+        }
+        buffer[pos++] = '"';
+    }
+
+    @Override
+    void rawValue(CharSequence value) {
+        raw(value.toString());
+    }
+
+    @Override
+    void flushIfFull() throws IOException {
+        if ((stream != null || channel != null) && pos >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    @Override
+    void flush() throws IOException {
+        if (pos == 0) {
+            return;
+        }
+        if (stream != null) {
+            stream.write(buffer, 0, pos);
+        } else if (channel != null) {
+            var bytes = ByteBuffer.wrap(buffer, 0, pos);
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } else {
+            return;
+        }
+        pos = 0;
+    }
+
+    /**
+     * Encodes text that needs no escaping, copying ASCII runs in bulk.
+     */
+    private void raw(String text) {
+        int from = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 128) {
+                ascii(text, from, i);
+                if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    encode(Character.toCodePoint(c, text.charAt(++i)));
+                } else {
+                    encode(c);
+                }
+                from = i + 1;
+            }
+        }
+        ascii(text, from, text.length());
+    }
+
+    /**
+     * Copies {@code [from, to)} of text known to be ASCII with one bulk copy of the low bytes.
+     */
+    @SuppressWarnings("deprecation")
+    private void ascii(String text, int from, int to) {
+        int length = to - from;
+        if (length > 0) {
+            ensure(length);
+            text.getBytes(from, to, buffer, pos);
+            pos += length;
+        }
+    }
+
+    private void ascii(String text) {
+        ascii(text, 0, text.length());
+    }
+
+    private void unicodeEscape(char c) {
+        ensure(6);
+        buffer[pos++] = '\\';
+        buffer[pos++] = 'u';
+        buffer[pos++] = (byte) HEX_DIGITS[c >>> 12];
+        buffer[pos++] = (byte) HEX_DIGITS[c >>> 8 & 0xF];
+        buffer[pos++] = (byte) HEX_DIGITS[c >>> 4 & 0xF];
+        buffer[pos++] = (byte) HEX_DIGITS[c & 0xF];
+    }
+
+    private void digits(int length) {
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            buffer[pos + i] = (byte) digits[i];
+        }
+        pos += length;
+    }
+
+    private void encode(int codePoint) {
+        ensure(4);
+        if (codePoint < 0x80) {
+            buffer[pos++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            buffer[pos++] = (byte) (0xC0 | codePoint >> 6);
+            buffer[pos++] = (byte) (0x80 | codePoint & 0x3F);
+        } else if (codePoint < 0x10000) {
+            buffer[pos++] = (byte) (0xE0 | codePoint >> 12);
+            buffer[pos++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            buffer[pos++] = (byte) (0x80 | codePoint & 0x3F);
+        } else {
+            buffer[pos++] = (byte) (0xF0 | codePoint >> 18);
+            buffer[pos++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+            buffer[pos++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            buffer[pos++] = (byte) (0x80 | codePoint & 0x3F);
+        }
+    }
+
+    private void put(char c) {
+        ensure(1);
+        buffer[pos++] = (byte) c;
+    }
+
+    private void put(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    /**
+     * Grows the buffer to fit {@code length} more bytes. Writes never flush, so a writer with a target
+     * only grows past {@link #FLUSH_THRESHOLD} when a single value is larger than that.
+     */
+    private void ensure(int length) {
+        if (pos + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, pos + length));
+            buffers.bytes = buffer;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+
+import com.reftch.json.parser.MapperException;
+
+/**
+ * Reads and writes values of one declared type, including {@code null}.
+ *
+ * Codecs for generic types form a tree that mirrors the type, e.g. {@code Map<String, List<Item>>}
+ * is a map codec over a list codec over the binder of {@code Item}; see {@link ValueCodecs#of}.
+ */
+interface ValueCodec {
+
+    /**
+     * Reads the next value, which may be {@code null}.
+     */
+    Object read(JsonReader reader) throws MapperException;
+
+    /**
+     * Writes a value, which may be {@code null}.
+     */
+    void write(Object value, JsonWriter writer) throws IOException;
+}
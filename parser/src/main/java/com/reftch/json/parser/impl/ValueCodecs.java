@@ -0,0 +1,340 @@
+package com.reftch.json.parser.impl;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import com.reftch.json.parser.MapperException;
+
+/**
+ * Resolves a generic {@link Type} into a tree of {@link ValueCodec}s once, so binding a property never
+ * inspects type arguments again.
+ *
+ * Collections, maps and optionals get a codec per level of nesting; any other type is a leaf that goes
+ * through the class-based binder. Codecs hold no mutable state, so a tree is shared by every thread and
+ * mapper that binds the property.
+ *
+ * Collections and maps are created only once their elements have been read into a scratch array local
+ * to the call, so each one starts at the capacity its content needs and never grows or rehashes.
+ */
+final class ValueCodecs {
+    private static final AbstractDeserializer<Object> VALUES = new AbstractDeserializer<>() {
+    };
+    private static final SerializerImpl<Object> SERIALIZER = new SerializerImpl<>();
+    private static final int SCRATCH_SIZE = 8;
+
+    private ValueCodecs() {
+    }
+
+    /**
+     * Whether values of {@code type} are containers whose element types come from type arguments.
+     */
+    static boolean isContainer(Class<?> type) {
+        return Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type) || type == Optional.class;
+    }
+
+    /**
+     * Resolves the codec tree of a declared type.
+     *
+     * @throws IllegalArgumentException if the type or one of its type arguments cannot be bound,
+     *                                  e.g. a container without type arguments
+     */
+    static ValueCodec of(Type type) {
+        return switch (type) {
+            case Class<?> c when isContainer(c) -> throw new IllegalArgumentException("Missing type arguments: " + c.getName());
+            case Class<?> c -> new ClassCodec(c);
+            case ParameterizedType p -> parameterized((Class<?>) p.getRawType(), p.getActualTypeArguments());
+            case GenericArrayType a -> new ArrayCodec(raw(a.getGenericComponentType()), of(a.getGenericComponentType()));
+            case WildcardType w -> of(w.getLowerBounds().length > 0 ? Object.class : w.getUpperBounds()[0]);
+            case TypeVariable<?> v -> of(raw(v));
+            default -> throw new IllegalArgumentException("Unsupported type: " + type);
+        };
+    }
+
+    private static ValueCodec parameterized(Class<?> raw, Type[] arguments) {
+        if (raw == Optional.class) {
+            return new OptionalCodec(of(arguments[0]));
+        }
+        if (Map.class.isAssignableFrom(raw) && arguments.length == 2) {
+            var key = raw(arguments[0]);
+            return new MapCodec(mapFactory(raw, key), keyParser(key), of(arguments[1]));
+        }
+        if (Collection.class.isAssignableFrom(raw) && arguments.length == 1) {
+            return new CollectionCodec(collectionFactory(raw, raw(arguments[0])), of(arguments[0]));
+        }
+        if (isContainer(raw)) {
+            throw new IllegalArgumentException("Unsupported container type: " + raw.getName());
+        }
+        // A generic bindable class is bound through its own model
+        return new ClassCodec(raw);
+    }
+
+    /**
+     * The class a value of {@code type} is an instance of: the raw type, or the erasure of a bound.
+     */
+    private static Class<?> raw(Type type) {
+        return switch (type) {
+            case Class<?> c -> c;
+            case ParameterizedType p -> (Class<?>) p.getRawType();
+            case GenericArrayType a -> Array.newInstance(raw(a.getGenericComponentType()), 0).getClass();
+            case WildcardType w -> w.getLowerBounds().length > 0 ? Object.class : raw(w.getUpperBounds()[0]);
+            case TypeVariable<?> v -> raw(v.getBounds()[0]);
+            default -> Object.class;
+        };
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static IntFunction<Collection<Object>> collectionFactory(Class<?> raw, Class<?> element) {
+        // Queue and Deque resolve to LinkedList, which unlike ArrayDeque accepts null elements
+        return switch (raw) {
+            case Class<?> c when c.isAssignableFrom(ArrayList.class) -> ArrayList::new;
+            case Class<?> c when c.isAssignableFrom(LinkedHashSet.class) -> LinkedHashSet::newLinkedHashSet;
+            case Class<?> c when c.isAssignableFrom(TreeSet.class) -> size -> new TreeSet<>();
+            case Class<?> c when c.isAssignableFrom(LinkedList.class) -> size -> new LinkedList<>();
+            case Class<?> c when c.isAssignableFrom(ArrayDeque.class) -> ArrayDeque::new;
+            case Class<?> c when c == EnumSet.class && element.isEnum() -> size -> (Collection) EnumSet.noneOf((Class) element);
+            default -> throw new IllegalArgumentException("Unsupported collection type: " + raw.getName());
+        };
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static IntFunction<Map<Object, Object>> mapFactory(Class<?> raw, Class<?> key) {
+        return switch (raw) {
+            case Class<?> c when c.isAssignableFrom(LinkedHashMap.class) -> LinkedHashMap::newLinkedHashMap;
+            case Class<?> c when c.isAssignableFrom(TreeMap.class) -> size -> new TreeMap<>();
+            case Class<?> c when c.isAssignableFrom(ConcurrentHashMap.class) -> ConcurrentHashMap::new;
+            case Class<?> c when c == EnumMap.class && key.isEnum() -> size -> new EnumMap(key);
+            default -> throw new IllegalArgumentException("Unsupported map type: " + raw.getName());
+        };
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Function<String, Object> keyParser(Class<?> key) {
+        return switch (key) {
+            case Class<?> k when k == String.class || k == Object.class || k == CharSequence.class -> name -> name;
+            case Class<?> k when k == Integer.class -> Integer::valueOf;
+            case Class<?> k when k == Long.class -> Long::valueOf;
+            case Class<?> k when k == Short.class -> Short::valueOf;
+            case Class<?> k when k == Byte.class -> Byte::valueOf;
+            case Class<?> k when k == Double.class -> Double::valueOf;
+            case Class<?> k when k == Float.class -> Float::valueOf;
+            case Class<?> k when k == Boolean.class -> Boolean::valueOf;
+            case Class<?> k when k.isEnum() -> name -> Enum.valueOf((Class<? extends Enum>) k, name);
+            default -> throw new IllegalArgumentException("Unsupported map key type: " + key.getName());
+        };
+    }
+
+    private static String key(Object key) {
+        return key instanceof Enum<?> e ? e.name() : String.valueOf(key);
+    }
+
+    /**
+     * Leaf of the tree: any type the class-based binder handles, from scalars to nested objects.
+     */
+    private record ClassCodec(Class<?> type) implements ValueCodec {
+
+        @Override
+        public Object read(JsonReader reader) throws MapperException {
+            return VALUES.readValue(reader, type);
+        }
+
+        @Override
+        public void write(Object value, JsonWriter writer) throws IOException {
+            SERIALIZER.writeValue(value, writer);
+        }
+    }
+
+    private record CollectionCodec(IntFunction<Collection<Object>> factory, ValueCodec element) implements ValueCodec {
+
+        @Override
+        public Object read(JsonReader reader) throws MapperException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            var elements = new Object[SCRATCH_SIZE];
+            int count = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (count == elements.length) {
+                    elements = Arrays.copyOf(elements, count * 2);
+                }
+                elements[count++] = element.read(reader);
+            }
+            reader.endArray();
+
+            var collection = factory.apply(count);
+            for (int i = 0; i < count; i++) {
+                try {
+                    collection.add(elements[i]);
+                } catch (NullPointerException e) {
+                    throw new MapperException(collection.getClass().getSimpleName() + " cannot hold the null at index " + i, e);
+                }
+            }
+            return collection;
+        }
+
+        @Override
+        public void write(Object value, JsonWriter writer) throws IOException {
+            if (value == null) {
+                writer.nullValue();
+                return;
+            }
+
+            writer.beginArray();
+            boolean first = true;
+            for (var item : (Collection<?>) value) {
+                if (!first) {
+                    writer.comma();
+                }
+                first = false;
+                element.write(item, writer);
+                writer.flushIfFull();
+            }
+            writer.endArray();
+        }
+    }
+
+    private record MapCodec(IntFunction<Map<Object, Object>> factory, Function<String, Object> keys, ValueCodec values)
+            implements ValueCodec {
+
+        @Override
+        public Object read(JsonReader reader) throws MapperException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            // keys at even indexes, each followed by its value
+            var entries = new Object[SCRATCH_SIZE * 2];
+            int count = 0;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (count * 2 == entries.length) {
+                    entries = Arrays.copyOf(entries, entries.length * 2);
+                }
+                entries[count * 2] = keys.apply(reader.nextKey());
+                entries[count * 2 + 1] = values.read(reader);
+                count++;
+            }
+            reader.endObject();
+
+            var map = factory.apply(count);
+            for (int i = 0; i < count; i++) {
+                try {
+                    map.put(entries[i * 2], entries[i * 2 + 1]);
+                } catch (NullPointerException e) {
+                    throw new MapperException(map.getClass().getSimpleName() + " cannot hold the null value of " + entries[i * 2], e);
+                }
+            }
+            return map;
+        }
+
+        @Override
+        public void write(Object value, JsonWriter writer) throws IOException {
+            if (value == null) {
+                writer.nullValue();
+                return;
+            }
+
+            writer.beginObject();
+            boolean first = true;
+            for (var entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    writer.comma();
+                }
+                first = false;
+                writer.key(key(entry.getKey()));
+                values.write(entry.getValue(), writer);
+                writer.flushIfFull();
+            }
+            writer.endObject();
+        }
+    }
+
+    /**
+     * {@code null} in JSON is an empty optional, and an empty optional is written as {@code null}.
+     */
+    private record OptionalCodec(ValueCodec value) implements ValueCodec {
+
+        @Override
+        public Object read(JsonReader reader) throws MapperException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return Optional.empty();
+            }
+            return Optional.ofNullable(value.read(reader));
+        }
+
+        @Override
+        public void write(Object optional, JsonWriter writer) throws IOException {
+            if (optional == null || ((Optional<?>) optional).isEmpty()) {
+                writer.nullValue();
+            } else {
+                value.write(((Optional<?>) optional).get(), writer);
+            }
+        }
+    }
+
+    /**
+     * Arrays of a generic component type, e.g. {@code List<String>[]}.
+     */
+    private record ArrayCodec(Class<?> componentType, ValueCodec component) implements ValueCodec {
+
+        @Override
+        public Object read(JsonReader reader) throws MapperException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            var elements = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                elements.add(component.read(reader));
+            }
+            reader.endArray();
+            return elements.toArray((Object[]) Array.newInstance(componentType, elements.size()));
+        }
+
+        @Override
+        public void write(Object value, JsonWriter writer) throws IOException {
+            if (value == null) {
+                writer.nullValue();
+                return;
+            }
+
+            var array = (Object[]) value;
+            writer.beginArray();
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) {
+                    writer.comma();
+                }
+                component.write(array[i], writer);
+                writer.flushIfFull();
+            }
+            writer.endArray();
+        }
+    }
+}
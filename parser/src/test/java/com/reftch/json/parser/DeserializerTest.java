@@ -1,7 +1,27 @@
 package com.reftch.json.parser;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -26,6 +46,37 @@ public class DeserializerTest {
         Assertions.assertEquals(expected, actual);
     }
 
+    @Test
+    @DisplayName("Should correctly map formatted json with escapes to record")
+    void shouldFormattedJsonToRecord() throws Exception {
+        // Given
+        var json = """
+                {
+                    "name" : "John \\"Johnny\\" \\\\ Jr",
+                    "age" : 33,
+                    "surname" : "Smith"
+                }
+                """;
+        var mapper = MapperFactory.createMapper(Person.class);
+
+        // When
+        var actual = mapper.toObject(json);
+        // Then
+        var expected = new Person("John \"Johnny\" \\ Jr", "Smith");
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Should fail on malformed json")
+    void shouldFailOnMalformedJson() {
+        // Given
+        var json = "{\"name\":\"John\" \"surname\":\"Smith\"}";
+        var mapper = MapperFactory.createMapper(Person.class);
+
+        // When / Then
+        Assertions.assertThrows(MapperException.class, () -> mapper.toObject(json));
+    }
+
     public static class PersonObject {
         String name;
         String surname;
@@ -67,6 +118,25 @@ public class DeserializerTest {
         Assertions.assertEquals(expected.surname, actual.surname);
     }
 
+    @Test
+    @DisplayName("Should strip only the whitespace of the regex class \\s from names")
+    void shouldStripRegexWhitespaceFromNames() throws Exception {
+        // Given
+        var stripped = "{\"\\u000bname\\f\":\"John\",\"sur\\rname\\t\":\"Smith\"}";
+        var kept = "{\"\\u2003name\":\"John\",\"surname\\u001f\":\"Smith\"}";
+        var mapper = MapperFactory.createMapper(PersonObject.class);
+
+        // When
+        var actual = mapper.toObject(stripped);
+        var unmatched = mapper.toObject(kept);
+
+        // Then
+        Assertions.assertEquals("John", actual.name);
+        Assertions.assertEquals("Smith", actual.surname);
+        Assertions.assertNull(unmatched.name);
+        Assertions.assertNull(unmatched.surname);
+    }
+
     public static class TestObject {
         byte b;
         short s;
@@ -434,4 +504,659 @@ public class DeserializerTest {
         Assertions.assertNull(actual.arr);
     }
 
+    public record Team(String name, List<String> members) {
+    }
+
+    @Test
+    @DisplayName("Should correctly map json to record with list component")
+    void shouldJsonToRecordWithList() throws Exception {
+        // Given
+        var json = "{\"name\":\"core\",\"members\":[\"John\",\"Jane\"]}";
+
+        // When
+        var first = MapperFactory.createMapper(Team.class).toObject(json);
+        var second = MapperFactory.createMapper(Team.class).toObject(json);
+        // Then
+        var expected = new Team("core", List.of("John", "Jane"));
+        Assertions.assertEquals(expected, first);
+        Assertions.assertEquals(expected, second);
+    }
+
+    public record Primitives(byte b, short s, int i, long l, double d, float f, char c, boolean bool) {
+    }
+
+    @Test
+    @DisplayName("Should correctly map json to record with primitive components")
+    void shouldJsonToRecordWithPrimitives() throws Exception {
+        // Given
+        var json = "{\"b\":-1,\"s\":2,\"i\":-3,\"l\":9007199254740993,\"d\":-5.25,\"f\":6.5,\"c\":\"7\",\"bool\":true}";
+        var mapper = MapperFactory.createMapper(Primitives.class);
+
+        // When
+        var actual = mapper.toObject(json);
+        // Then
+        var expected = new Primitives((byte) -1, (short) 2, -3, 9007199254740993L, -5.25, 6.5f, '7', true);
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Should default missing primitive components of record")
+    void shouldDefaultMissingPrimitives() throws Exception {
+        // Given
+        var json = "{\"i\":42}";
+        var mapper = MapperFactory.createMapper(Primitives.class);
+
+        // When
+        var actual = mapper.toObject(json);
+        // Then
+        var expected = new Primitives((byte) 0, (short) 0, 42, 0L, 0.0, 0.0f, '\0', false);
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Should correctly map UTF-8 bytes to record")
+    void shouldUtf8BytesToRecord() throws Exception {
+        // Given
+        var json = "  {\"name\":\"Jürgen \\\"Ω\\\"\",\"surname\":\"Müller 😀\"}  ";
+        var bytes = ("xx" + json + "yy").getBytes(StandardCharsets.UTF_8);
+        var length = json.getBytes(StandardCharsets.UTF_8).length;
+        var mapper = MapperFactory.createMapper(Person.class);
+
+        // When
+        var actual = mapper.toObject(bytes, 2, length);
+        // Then
+        var expected = new Person("Jürgen \"Ω\"", "Müller 😀");
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Should correctly map heap and direct byte buffers to class object")
+    void shouldByteBufferToTestObject() throws Exception {
+        // Given
+        var bytes = "{\"b\":1,\"s\":2,\"i\":3,\"l\":4,\"d\":5.0,\"f\":6.0,\"c\":\"ä\",\"bool\":true}"
+                .getBytes(StandardCharsets.UTF_8);
+        var direct = ByteBuffer.allocateDirect(bytes.length + 4);
+        direct.put(new byte[] { 1, 2 }).put(bytes).flip().position(2);
+        var heap = ByteBuffer.wrap(bytes);
+        var mapper = MapperFactory.createMapper(TestObject.class);
+
+        // When
+        var fromDirect = mapper.toObject(direct);
+        var fromHeap = mapper.toObject(heap);
+        // Then
+        for (var actual : List.of(fromDirect, fromHeap)) {
+            Assertions.assertEquals(3, actual.i);
+            Assertions.assertEquals(4L, actual.l);
+            Assertions.assertEquals(5.0, actual.d);
+            Assertions.assertEquals('ä', actual.c);
+            Assertions.assertTrue(actual.bool);
+        }
+        Assertions.assertEquals(2, direct.position());
+    }
+
+    /**
+     * Hands out at most three bytes per read, so tokens straddle buffer refills.
+     */
+    private static InputStream trickle(byte[] bytes) {
+        return new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should correctly map streamed json larger than the read buffer")
+    void shouldStreamToObject() throws Exception {
+        // Given
+        var longName = "é".repeat(20_000);
+        var members = new StringBuilder();
+        for (int i = 0; i < 2_000; i++) {
+            members.append(i > 0 ? ", " : "").append("\"member-").append(i).append('"');
+        }
+        var json = "{ \"unknown\": {\"a\":[1,2,{\"b\":\"x\"}]}, \"name\" : \"" + longName
+                + "\", \"members\" : [" + members + "] }";
+        var mapper = MapperFactory.createMapper(Team.class);
+
+        // When
+        var fromStream = mapper.toObject(trickle(json.getBytes(StandardCharsets.UTF_8)));
+        var fromReader = mapper.toObject(new StringReader(json));
+        // Then
+        for (var actual : List.of(fromStream, fromReader)) {
+            Assertions.assertEquals(longName, actual.name());
+            Assertions.assertEquals(2_000, actual.members().size());
+            Assertions.assertEquals("member-1999", actual.members().get(1999));
+        }
+    }
+
+    @Test
+    @DisplayName("Should lazily iterate over records of a top-level array")
+    void shouldIterateOverArray() throws Exception {
+        // Given
+        var json = new StringBuilder("[");
+        for (int i = 0; i < 10_000; i++) {
+            json.append(i > 0 ? "," : "").append("{\"name\":\"John").append(i).append("\",\"surname\":\"Smith\"}");
+        }
+        json.append("]");
+        var mapper = MapperFactory.createMapper(Person.class);
+
+        // When
+        long count;
+        Person last;
+        try (var persons = mapper.iterate(trickle(json.toString().getBytes(StandardCharsets.UTF_8)))) {
+            var all = persons.toList();
+            count = all.size();
+            last = all.get(all.size() - 1);
+        }
+        var firstTwo = mapper.iterate(new StringReader(json.toString())).limit(2).toList();
+        // Then
+        Assertions.assertEquals(10_000L, count);
+        Assertions.assertEquals(new Person("John9999", "Smith"), last);
+        Assertions.assertEquals(List.of(new Person("John0", "Smith"), new Person("John1", "Smith")), firstTwo);
+    }
+
+    @Test
+    @DisplayName("Should fail lazily on malformed array element")
+    void shouldFailOnMalformedArrayElement() throws Exception {
+        // Given
+        var json = "[{\"name\":\"John\"},{\"name\" \"Jane\"}]";
+        var mapper = MapperFactory.createMapper(Person.class);
+
+        // When
+        var persons = mapper.iterate(new StringReader(json)).iterator();
+        // Then
+        Assertions.assertEquals(new Person("John", null), persons.next());
+        Assertions.assertThrows(UncheckedMapperException.class, persons::next);
+        Assertions.assertThrows(MapperException.class, () -> mapper.iterate(new StringReader("{}")));
+    }
+
+    @Test
+    @DisplayName("Should read and iterate over memory-mapped files")
+    void shouldReadMappedFiles() throws Exception {
+        // Given
+        var json = new StringBuilder("[");
+        for (int i = 0; i < 10_000; i++) {
+            json.append(i > 0 ? ",\n" : "").append("{\"name\":\"Jöhn").append(i).append("\",\"surname\":\"Sm\\u00efth\"}");
+        }
+        json.append("]");
+        var array = Files.createTempFile("persons", ".json");
+        var object = Files.createTempFile("person", ".json");
+        Files.writeString(array, json);
+        Files.writeString(object, " {\"name\":\"Jöhn\",\"surname\":\"Smith\"} ");
+        var mapper = MapperFactory.createMapper(Person.class);
+
+        // When
+        Person single;
+        List<Person> all;
+        List<Person> firstTwo;
+        try {
+            single = mapper.toObject(object);
+            try (var persons = mapper.iterate(array)) {
+                all = persons.toList();
+            }
+            try (var persons = mapper.iterate(array)) {
+                firstTwo = persons.limit(2).toList();
+            }
+            Assertions.assertThrows(MapperException.class, () -> mapper.iterate(object));
+        } finally {
+            Files.delete(array);
+            Files.delete(object);
+        }
+        // Then
+        Assertions.assertEquals(new Person("Jöhn", "Smith"), single);
+        Assertions.assertEquals(10_000, all.size());
+        Assertions.assertEquals(new Person("Jöhn9999", "Smïth"), all.get(9_999));
+        Assertions.assertEquals(all.subList(0, 2), firstTwo);
+        Assertions.assertThrows(MapperException.class, () -> mapper.toObject(array.resolveSibling("missing.json")));
+    }
+
+    @Test
+    @DisplayName("Should convert batches of json documents in order")
+    void shouldConvertBatchInOrder() throws Exception {
+        // Given
+        var jsons = new ArrayList<String>();
+        var lines = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            var json = "{\"name\":\"John" + i + "\",\"surname\":\"Smith\"}";
+            jsons.add(json);
+            lines.append(json).append(i % 2 == 0 ? "\r\n" : "\n").append(i % 100 == 0 ? "\n" : "");
+        }
+        var file = Files.createTempFile("persons", ".jsonl");
+        Files.writeString(file, lines);
+        var mapper = MapperFactory.createMapper(Person.class);
+
+        // When
+        List<Person> fromList;
+        List<Person> fromFile;
+        try {
+            fromList = mapper.toObjects(jsons);
+            fromFile = mapper.toObjects(file);
+        } finally {
+            Files.delete(file);
+        }
+        // Then
+        Assertions.assertEquals(5_000, fromList.size());
+        Assertions.assertEquals(fromList, fromFile);
+        for (int i = 0; i < fromList.size(); i++) {
+            Assertions.assertEquals(new Person("John" + i, "Smith"), fromList.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should report failing document of a batch")
+    void shouldFailBatchOnMalformedDocument() {
+        // Given
+        var jsons = new ArrayList<String>();
+        for (int i = 0; i < 1_000; i++) {
+            jsons.add(i == 700 ? "{\"name\":" : "{\"name\":\"John\"}");
+        }
+        var mapper = MapperFactory.createMapper(Person.class);
+
+        // When
+        var exception = Assertions.assertThrows(MapperException.class, () -> mapper.toObjects(jsons));
+        // Then
+        Assertions.assertTrue(exception.getMessage().contains("700"));
+    }
+
+    @Test
+    @DisplayName("Should map large primitive arrays and Base64 byte array")
+    void shouldMapLargePrimitiveArrays() throws MapperException {
+        // Given
+        record Telemetry(double[] series, long[] timestamps, byte[] payload, byte[] raw) {
+        }
+        var json = new StringBuilder("{\"series\":[");
+        var series = new double[10_000];
+        var timestamps = new long[10_000];
+        for (int i = 0; i < series.length; i++) {
+            series[i] = i * 0.25;
+            timestamps[i] = 1_700_000_000_000L + i;
+        }
+        json.append(Arrays.stream(series).mapToObj(Double::toString).collect(Collectors.joining(",")))
+                .append("],\"timestamps\":[")
+                .append(Arrays.stream(timestamps).mapToObj(Long::toString).collect(Collectors.joining(",")))
+                .append("],\"payload\":\"AQID/w==\",\"raw\":[1,2,3,-1]}");
+        var mapper = MapperFactory.createMapper(Telemetry.class);
+
+        // When
+        var actual = mapper.toObject(json.toString());
+        // Then
+        Assertions.assertArrayEquals(series, actual.series());
+        Assertions.assertArrayEquals(timestamps, actual.timestamps());
+        Assertions.assertArrayEquals(new byte[] { 1, 2, 3, -1 }, actual.payload());
+        Assertions.assertArrayEquals(new byte[] { 1, 2, 3, -1 }, actual.raw());
+    }
+
+    @Test
+    @DisplayName("Should parse numbers exactly like the JDK")
+    void shouldParseNumbersExactly() throws MapperException {
+        // Given
+        record Numbers(double d, float f) {
+        }
+        var literals = new ArrayList<>(List.of("0", "-0.0", "1e23", "9007199254740993", "2.2250738585072011E-308",
+                "4.9e-324", "1.7976931348623157e308", "1e400", "3.4028236e38", "1.4e-45", "0.1", "123456789012345678901234",
+                "-1.5E+10", "0.000000000000000000000000000001"));
+        var random = new Random(42);
+        for (int i = 0; i < 1_000; i++) {
+            literals.add(Double.toString(Double.longBitsToDouble(random.nextLong() & Long.MAX_VALUE)));
+            literals.add(random.nextLong() + "e" + (random.nextInt(600) - 300));
+        }
+        var mapper = MapperFactory.createMapper(Numbers.class);
+
+        for (var literal : literals) {
+            if (literal.contains("NaN") || literal.contains("Infinity")) {
+                continue;
+            }
+            // When
+            var actual = mapper.toObject("{\"d\":" + literal + ",\"f\":" + literal + "}");
+            // Then
+            Assertions.assertEquals(Double.doubleToRawLongBits(Double.parseDouble(literal)),
+                    Double.doubleToRawLongBits(actual.d()), literal);
+            Assertions.assertEquals(Float.floatToRawIntBits(Float.parseFloat(literal)),
+                    Float.floatToRawIntBits(actual.f()), literal);
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail on integer overflow")
+    void shouldFailOnIntegerOverflow() throws MapperException {
+        // Given
+        record Counters(int i, long l) {
+        }
+        var mapper = MapperFactory.createMapper(Counters.class);
+
+        // When
+        var actual = mapper.toObject("{\"i\":-2147483648,\"l\":9223372036854775807}");
+        // Then
+        Assertions.assertEquals(new Counters(Integer.MIN_VALUE, Long.MAX_VALUE), actual);
+        Assertions.assertThrows(MapperException.class, () -> mapper.toObject("{\"i\":2147483648,\"l\":0}"));
+        Assertions.assertThrows(MapperException.class, () -> mapper.toObject("{\"i\":0,\"l\":9223372036854775808}"));
+    }
+
+    @Test
+    @DisplayName("Should unescape unicode escapes, surrogate pairs and solidus")
+    void shouldUnescapeUnicode() throws MapperException {
+        // Given
+        var json = "{\"name\":\"caf\\u00e9 \\ud83d\\ude00 a\\/b\",\"surname\":\"\\u0001\\\"x\\\\\"}";
+        var mapper = MapperFactory.createMapper(Person.class);
+
+        // When
+        var fromString = mapper.toObject(json);
+        var fromBytes = mapper.toObject(json.getBytes(StandardCharsets.UTF_8));
+        // Then
+        var expected = new Person("caf\u00e9 \ud83d\ude00 a/b", "\u0001\"x\\");
+        Assertions.assertEquals(expected, fromString);
+        Assertions.assertEquals(expected, fromBytes);
+        Assertions.assertThrows(MapperException.class, () -> mapper.toObject("{\"name\":\"\\u12g4\"}"));
+    }
+
+    @Test
+    @DisplayName("Should match escaped, spaced, non-ASCII and colliding property names")
+    void shouldMatchPropertyNames() throws MapperException {
+        // Given
+        record Names(String caf\u00e9, int Aa, int BB, int b) {
+        }
+        var json = "{\"caf\u00e9\":\"x\",\" A a \":1,\"BB\":2,\"\\u0062\":3,\"unknown\":4}";
+        var mapper = MapperFactory.createMapper(Names.class);
+
+        // When
+        var fromString = mapper.toObject(json);
+        var fromBytes = mapper.toObject(json.getBytes(StandardCharsets.UTF_8));
+        // Then
+        var expected = new Names("x", 1, 2, 3);
+        Assertions.assertEquals(expected, fromString);
+        Assertions.assertEquals(expected, fromBytes);
+    }
+
+    public static class Owner {
+        String name;
+        Person partner;
+        List<Person> children;
+    }
+
+    @Test
+    @DisplayName("Should bind nested records, classes and lists of records in one pass")
+    void shouldBindNestedObjects() throws MapperException {
+        // Given
+        record Household(Owner owner, Person[] guests, List<Person> neighbours) {
+        }
+        var json = """
+                {"owner":{"name":"John","partner":{"name":"Jane","surname":"Smith"},
+                "children":[{"name":"Tom"},null]},
+                "guests":[{"surname":"Doe"}],"neighbours":[{"name":"Max","extra":{"a":[1,{}]}}]}""";
+        var mapper = MapperFactory.createMapper(Household.class);
+
+        // When
+        var actual = mapper.toObject(json);
+        // Then
+        Assertions.assertEquals("John", actual.owner().name);
+        Assertions.assertEquals(new Person("Jane", "Smith"), actual.owner().partner);
+        Assertions.assertEquals(Arrays.asList(new Person("Tom", null), null), actual.owner().children);
+        Assertions.assertArrayEquals(new Person[] { new Person(null, "Doe") }, actual.guests());
+        Assertions.assertEquals(List.of(new Person("Max", null)), actual.neighbours());
+    }
+
+    @GenerateMapper
+    public record Invoice(String number, long total, double rate, boolean paid, Person customer,
+            List<String> lines, @Base64Encoded byte[] signature, int[] items) {
+    }
+
+    @GenerateMapper
+    public static class Ledger {
+        String owner;
+        int year;
+        List<Invoice> invoices;
+    }
+
+    @Test
+    @DisplayName("Should bind classes through the mappers generated at compile time")
+    void shouldBindThroughGeneratedMappers() throws Exception {
+        // Given
+        var json = """
+                {"owner":"John","year":2025,"invoices":[{"number":"A-1","total":1200,"rate":0.19,"paid":true,\
+                "customer":{"name":"Jane","surname":"Smith"},"lines":["a","b"],"signature":"AQID",\
+                "items":[4,5],"unknown":{"x":[1]}},null]}""";
+        var mapper = MapperFactory.createMapper(Ledger.class);
+
+        // When
+        var actual = mapper.toObject(json);
+        var written = mapper.toJson(actual);
+        // Then
+        Assertions.assertNotNull(Class.forName("com.reftch.json.parser.DeserializerTest_LedgerJsonMapper"));
+        Assertions.assertNotNull(Class.forName("com.reftch.json.parser.DeserializerTest_InvoiceJsonMapper"));
+        Assertions.assertEquals("John", actual.owner);
+        Assertions.assertEquals(2025, actual.year);
+        var invoice = actual.invoices.getFirst();
+        Assertions.assertEquals("A-1", invoice.number());
+        Assertions.assertEquals(1200, invoice.total());
+        Assertions.assertEquals(0.19, invoice.rate());
+        Assertions.assertTrue(invoice.paid());
+        Assertions.assertEquals(new Person("Jane", "Smith"), invoice.customer());
+        Assertions.assertEquals(List.of("a", "b"), invoice.lines());
+        Assertions.assertArrayEquals(new byte[] { 1, 2, 3 }, invoice.signature());
+        Assertions.assertArrayEquals(new int[] { 4, 5 }, invoice.items());
+        Assertions.assertNull(actual.invoices.get(1));
+        Assertions.assertEquals("""
+                {"owner":"John","year":2025,"invoices":[{"number":"A-1","total":1200,"rate":0.19,"paid":true,\
+                "customer":{"name":"Jane","surname":"Smith"},"lines":["a","b"],"signature":"AQID",\
+                "items":[4,5]},null]}""", written);
+        Assertions.assertEquals("x", mapper.toObject("{\"extra\":{\"a\":[1]},\"owner\":\"x\",\"more\":1}").owner);
+    }
+
+    public static class Account {
+        private String owner;
+        private long balance;
+        private List<Person> holders;
+        private Account() {
+        }
+    }
+
+    @Test
+    @DisplayName("Should bind records and private fields through runtime generated bytecode")
+    void shouldBindThroughGeneratedBytecode() throws Exception {
+        // Given
+        record Transfer(Account from, double amount, char currency, boolean instant, int[] batch,
+                @Base64Encoded byte[] signature) {
+        }
+        var json = """
+                {"from":{"owner":"John","balance":-42,"holders":[{"name":"Jane"}]},"amount":12.5,\
+                "currency":"E","instant":true,"batch":[1,2],"signature":"AQID","ignored":[{}]}""";
+        var bytecode = MapperFactory.createMapper(Transfer.class, Binding.BYTECODE);
+        var reflection = MapperFactory.createMapper(Transfer.class, Binding.REFLECTION);
+
+        // When
+        var actual = bytecode.toObject(json);
+        // Then
+        Assertions.assertEquals("John", actual.from().owner);
+        Assertions.assertEquals(-42, actual.from().balance);
+        Assertions.assertEquals(List.of(new Person("Jane", null)), actual.from().holders);
+        Assertions.assertEquals(12.5, actual.amount());
+        Assertions.assertEquals('E', actual.currency());
+        Assertions.assertTrue(actual.instant());
+        Assertions.assertArrayEquals(new int[] { 1, 2 }, actual.batch());
+        Assertions.assertArrayEquals(new byte[] { 1, 2, 3 }, actual.signature());
+        var expected = "{\"from\":{\"owner\":\"John\",\"balance\":-42,\"holders\":[{\"name\":\"Jane\",\"surname\":null}]},"
+                + "\"amount\":12.5,\"currency\":\"E\",\"instant\":true,\"batch\":[1,2],\"signature\":\"AQID\"}";
+        Assertions.assertEquals(expected, bytecode.toJson(actual));
+        Assertions.assertEquals(expected, reflection.toJson(reflection.toObject(json)));
+        Assertions.assertEquals("x", MapperFactory.createMapper(Account.class, Binding.BYTECODE)
+                .toObject("{\"extra\":{\"a\":[1]},\"owner\":\"x\",\"more\":1}").owner);
+    }
+
+    @Test
+    @DisplayName("Should bind strings to Object, CharSequence and Serializable without quotes or escapes")
+    void shouldBindStringsToSupertypes() throws MapperException {
+        // Given
+        record Loose(Object any, CharSequence text, Serializable id, List<Object> items) {
+        }
+        var json = "{\"any\":\"a\\nb\",\"text\":\"x\\\"y\",\"id\":\"7\",\"items\":[\"caf\\u00e9\"]}";
+
+        for (var binding : Binding.values()) {
+            // When
+            var actual = MapperFactory.createMapper(Loose.class, binding).toObject(json);
+
+            // Then
+            Assertions.assertEquals("a\nb", actual.any());
+            Assertions.assertEquals("x\"y", actual.text());
+            Assertions.assertEquals("7", actual.id());
+            Assertions.assertEquals(List.of("café"), actual.items());
+        }
+    }
+
+    @Test
+    @DisplayName("Should create collections at the size of their content")
+    void shouldSizeCollectionsExactly() throws Exception {
+        // Given
+        record Sized(List<Integer> list, Set<Integer> set, Map<String, Integer> map) {
+        }
+        var values = IntStream.range(0, 11).boxed().toList();
+        var json = "{\"list\":" + values + ",\"set\":" + values + ",\"map\":{"
+                + values.stream().map(i -> "\"k" + i + "\":" + i).collect(Collectors.joining(",")) + "}}";
+        // ArrayList grows from 10 to 15 elements when filled one by one
+        var elementData = ArrayList.class.getDeclaredField("elementData");
+        elementData.setAccessible(true);
+
+        for (var binding : Binding.values()) {
+            // When
+            var actual = MapperFactory.createMapper(Sized.class, binding).toObject(json);
+
+            // Then
+            Assertions.assertEquals(values, actual.list());
+            Assertions.assertEquals(11, ((Object[]) elementData.get(actual.list())).length);
+            Assertions.assertEquals(values, new ArrayList<>(actual.set()));
+            Assertions.assertEquals(values, new ArrayList<>(actual.map().values()));
+            Assertions.assertEquals("k10", new ArrayList<>(actual.map().keySet()).get(10));
+        }
+        Assertions.assertEquals(List.of(), MapperFactory.createMapper(Sized.class).toObject("{\"list\":[]}").list());
+    }
+
+    @Test
+    @DisplayName("Should keep null elements of queues and reject them in collections that cannot hold them")
+    void shouldBindNullElementsOfQueues() throws MapperException {
+        // Given
+        record Queues(Queue<Integer> queue, Deque<Integer> deque) {
+        }
+        record Sorted(SortedSet<Integer> sorted) {
+        }
+        var mapper = MapperFactory.createMapper(Queues.class);
+
+        // When
+        var actual = mapper.toObject("{\"queue\":[1,null],\"deque\":[1,null]}");
+
+        // Then
+        Assertions.assertEquals(Arrays.asList(1, null), new ArrayList<>(actual.queue()));
+        Assertions.assertEquals(Arrays.asList(1, null), new ArrayList<>(actual.deque()));
+        var e = Assertions.assertThrows(MapperException.class,
+                () -> MapperFactory.createMapper(Sorted.class).toObject("{\"sorted\":[1,null]}"));
+        Assertions.assertTrue(e.getCause().getMessage().contains("TreeSet cannot hold the null at index 1"));
+    }
+
+    @Test
+    @DisplayName("Should bind maps, sets, optionals and nested generic collections")
+    void shouldBindGenericCollections() throws MapperException {
+        // Given
+        record Catalog(Map<String, List<Person>> byCity, Set<Integer> ids, SortedSet<String> tags,
+                Map<Long, Double> prices, List<List<Integer>> matrix, Collection<? extends Double> weights,
+                Deque<String> queue, Optional<Person> owner, Optional<String> note, List<String>[] pages) {
+        }
+        var json = """
+                {"byCity":{"Berlin":[{"name":"John"}],"Paris":[]},"ids":[3,1,3,2],"tags":["b","a"],
+                "prices":{"10":1.5,"-2":0},"matrix":[[1,2],[],[3]],"weights":[1,2.5],"queue":["x","y"],
+                "owner":{"name":"Jane"},"note":null,"pages":[["p1"],["p2","p3"]]}""";
+        var mapper = MapperFactory.createMapper(Catalog.class);
+
+        // When
+        var actual = mapper.toObject(json);
+        // Then
+        Assertions.assertEquals(Map.of("Berlin", List.of(new Person("John", null)), "Paris", List.of()), actual.byCity());
+        Assertions.assertEquals(List.of("Berlin", "Paris"), new ArrayList<>(actual.byCity().keySet()));
+        Assertions.assertEquals(List.of(3, 1, 2), new ArrayList<>(actual.ids()));
+        Assertions.assertEquals(List.of("a", "b"), new ArrayList<>(actual.tags()));
+        Assertions.assertEquals(Map.of(10L, 1.5, -2L, 0.0), actual.prices());
+        Assertions.assertEquals(List.of(List.of(1, 2), List.of(), List.of(3)), actual.matrix());
+        Assertions.assertEquals(List.of(1.0, 2.5), new ArrayList<>(actual.weights()));
+        Assertions.assertEquals("x", actual.queue().peekFirst());
+        Assertions.assertEquals(Optional.of(new Person("Jane", null)), actual.owner());
+        Assertions.assertEquals(Optional.empty(), actual.note());
+        Assertions.assertEquals(List.of("p2", "p3"), actual.pages()[1]);
+
+        var written = MapperFactory.createMapper(Catalog.class, Binding.BYTECODE).toJson(actual);
+        var reread = mapper.toObject(written);
+        Assertions.assertTrue(written.contains("\"prices\":{\"10\":1.5,\"-2\":0.0},\"matrix\":[[1,2],[],[3]]"));
+        Assertions.assertTrue(written.contains("\"note\":null,\"pages\":[[\"p1\"],[\"p2\",\"p3\"]]"));
+        Assertions.assertEquals(actual.byCity(), reread.byCity());
+        Assertions.assertEquals(actual.ids(), reread.ids());
+        Assertions.assertEquals(actual.owner(), reread.owner());
+    }
+
+    @Test
+    @DisplayName("Should keep map keys exactly as written")
+    void shouldKeepMapKeysVerbatim() throws Exception {
+        // Given
+        record Population(Map<String, Integer> cities, String name) {
+        }
+        var json = "{\"cities\":{\"New York\":8,\" Rio\\tde Janeiro \":6},\"name \":\"world\"}";
+        var mapper = MapperFactory.createMapper(Population.class);
+
+        // When
+        var actual = mapper.toObject(json);
+        // Then
+        Assertions.assertEquals(Map.of("New York", 8, " Rio\tde Janeiro ", 6), actual.cities());
+        Assertions.assertEquals("world", actual.name());
+        Assertions.assertEquals(actual, mapper.toObject(mapper.toJson(actual)));
+    }
+
+    @Test
+    @DisplayName("Should skip unknown nested values without decoding them")
+    void shouldSkipUnknownNestedValues() throws Exception {
+        // Given
+        var json = """
+                {"extra":{"a":[1,{"b":"]}\\"[{"},true],"c":null},"name":"John","list":[[],[{}],"\\\"]"],
+                "surname":"Smith"}""";
+        var mapper = MapperFactory.createMapper(Person.class);
+
+        // When
+        var actual = mapper.toObject(json);
+        var raw = MapperFactory.createMapper(PersonObject.class).toObject("{\"name\":{\"x\":[1, \"}\"]}}");
+        // Then
+        Assertions.assertEquals(new Person("John", "Smith"), actual);
+        Assertions.assertEquals("{\"x\":[1, \"}\"]}", raw.name);
+        Assertions.assertEquals("Smith", MapperFactory.createMapper(PersonObject.class)
+                .toObject("{\"extra\":[{\"a\":\"]\"}],\"surname\":\"Smith\",\"more\":null}").surname);
+        Assertions.assertThrows(MapperException.class, () -> mapper.toObject("{\"extra\":[1,2},\"name\":\"John\"}"));
+        Assertions.assertThrows(MapperException.class, () -> mapper.toObject("{\"extra\":{\"a\":[1,2]"));
+    }
+
+    @Test
+    @DisplayName("Should bind only projected properties and stop once all were read")
+    void shouldBindProjectedProperties() throws Exception {
+        // Given
+        record Event(String id, long timestamp, String type, Map<String, String> payload, double score) {
+        }
+        var json = new StringBuilder("[");
+        for (int i = 0; i < 1_000; i++) {
+            json.append(i > 0 ? "," : "").append("{\"type\":\"click\",\"payload\":{\"x\":\"").append(i)
+                    .append("\"},\"id\":\"e").append(i).append("\",\"timestamp\":").append(i)
+                    .append(",\"tail\":[{\"deep\":[\"]\"]}],\"score\":0.5}");
+        }
+        json.append("]");
+        var projection = MapperFactory.createProjection(Event.class, "id", "timestamp");
+        var fields = MapperFactory.createProjection(PersonObject.class, "surname");
+
+        // When
+        List<Event> events;
+        try (var stream = projection.iterate(new StringReader(json.toString()))) {
+            events = stream.toList();
+        }
+        var person = fields.toObject("{\"name\":\"John\",\"age\":42,\"surname\":\"Smith\",\"name\":\"Jim\"}");
+        // Then
+        Assertions.assertEquals(1_000, events.size());
+        Assertions.assertEquals(new Event("e999", 999, null, null, 0), events.get(999));
+        Assertions.assertNull(person.name);
+        Assertions.assertEquals("Smith", person.surname);
+        Assertions.assertNotSame(projection, MapperFactory.createProjection(Event.class, "id"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MapperFactory.createProjection(Event.class, "missing"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MapperFactory.createProjection(Event.class));
+        Assertions.assertThrows(MapperException.class, () -> projection.toObject("{\"id\":\"e\",\"timestamp\":1,\"x\":[}"));
+    }
 }
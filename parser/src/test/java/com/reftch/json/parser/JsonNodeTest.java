@@ -0,0 +1,120 @@
+package com.reftch.json.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class JsonNodeTest {
+
+    private static final String EVENT = """
+            {"type":"order.created","version":3,"meta":{"source":"shop","tags":["a","b\\u00e9"]},
+             "payload":{"name":"John","surname":"Smith"},"amount":-12.5,"flag":true,"none":null,
+             "items":[1,[2,3],{"x":{}},"four"]}""";
+
+    public record Person(String name, String surname) {
+    }
+
+    @Test
+    @DisplayName("Should navigate an indexed document and decode only the values read")
+    void shouldNavigateDocument() throws MapperException {
+        // Given
+        var root = JsonNode.parse(EVENT);
+
+        // When
+        var meta = root.get("meta");
+        var items = root.get("items");
+        // Then
+        Assertions.assertEquals(JsonNode.Type.OBJECT, root.type());
+        Assertions.assertEquals(List.of("type", "version", "meta", "payload", "amount", "flag", "none", "items"),
+                root.names());
+        Assertions.assertEquals("order.created", root.get("type").asString());
+        Assertions.assertEquals(3, root.get("version").asInt());
+        Assertions.assertEquals(-12.5, root.get("amount").asDouble());
+        Assertions.assertTrue(root.get("flag").asBoolean());
+        Assertions.assertEquals(JsonNode.Type.NULL, root.get("none").type());
+        Assertions.assertNull(root.get("missing"));
+        Assertions.assertEquals("b\u00e9", meta.get("tags").get(1).asString());
+        Assertions.assertEquals(4, items.size());
+        Assertions.assertEquals("[2,3]", items.get(1).toJson());
+        Assertions.assertEquals(3, items.get(1).get(1).asLong());
+        Assertions.assertEquals("{\"x\":{}}", items.get(2).toJson());
+        Assertions.assertEquals(0, items.get(2).get("x").size());
+        Assertions.assertEquals("four", items.get(3).asString());
+        Assertions.assertNull(items.get(4));
+        Assertions.assertEquals(List.of("1", "[2,3]", "{\"x\":{}}", "\"four\""),
+                items.elements().stream().map(JsonNode::toJson).toList());
+    }
+
+    @Test
+    @DisplayName("Should bind a subtree of an indexed document to an object")
+    void shouldBindSubtree() throws MapperException {
+        // Given
+        var mapper = MapperFactory.createMapper(Person.class);
+
+        // When
+        var fromString = mapper.toObject(JsonNode.parse(EVENT).get("payload"));
+        var fromBytes = mapper.toObject(JsonNode.parse(EVENT.getBytes(StandardCharsets.UTF_8)).get("payload"));
+        // Then
+        Assertions.assertEquals(new Person("John", "Smith"), fromString);
+        Assertions.assertEquals(new Person("John", "Smith"), fromBytes);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed documents while indexing")
+    void shouldRejectMalformedDocuments() {
+        Assertions.assertThrows(MapperException.class, () -> JsonNode.parse("{\"a\":[1,2}"));
+        Assertions.assertThrows(MapperException.class, () -> JsonNode.parse("{\"a\":1} 2"));
+        Assertions.assertThrows(MapperException.class, () -> JsonNode.parse(""));
+    }
+
+    @Test
+    @DisplayName("Should index UTF-8 input like a string across 64-byte blocks")
+    void shouldIndexUtf8LikeString() throws MapperException {
+        // Given
+        var json = new StringBuilder("[");
+        for (int i = 0; i < 40; i++) {
+            // escapes, quotes and brackets inside strings land on every offset of a block
+            json.append(i == 0 ? "" : ", ").append("{\"k").append(i).append("\" : \"")
+                    .append("\\\\\\\"[,]{".repeat(i % 5)).append("\u00e9".repeat(i % 3)).append("\"\n, \"n\":")
+                    .append(i % 2 == 0 ? "-" + i + ".5e1" : "[true,false,null]").append('}');
+        }
+        var text = json.append(']').toString();
+
+        // When
+        var fromString = JsonNode.parse(text);
+        var fromBytes = JsonNode.parse(text.getBytes(StandardCharsets.UTF_8));
+        // Then
+        Assertions.assertEquals(40, fromBytes.size());
+        for (int i = 0; i < 40; i++) {
+            Assertions.assertEquals(fromString.get(i).toJson(), fromBytes.get(i).toJson());
+            Assertions.assertEquals(fromString.get(i).get("k" + i).asString(), fromBytes.get(i).get("k" + i).asString());
+        }
+        Assertions.assertEquals("\\\"[,]{\\\"[,]{\u00e9\u00e9", fromBytes.get(32).get("k32").asString());
+        Assertions.assertThrows(MapperException.class, () -> JsonNode.parse("[\"a\\\"]".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(MapperException.class, () -> JsonNode.parse("[1\\\"]".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(MapperException.class, () -> JsonNode.parse("{\"a\":1,}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Should expose member names exactly as written")
+    void shouldKeepMemberNamesVerbatim() throws MapperException {
+        // Given
+        var json = "{\"New York\":8,\"NewYork\":1,\" pad \":2,\"tab\\there\":3,\"caf\\u00e9 au lait\":4}";
+
+        for (var root : List.of(JsonNode.parse(json), JsonNode.parse(json.getBytes(StandardCharsets.UTF_8)))) {
+            // When
+            var names = root.names();
+            // Then
+            Assertions.assertEquals(List.of("New York", "NewYork", " pad ", "tab\there", "caf\u00e9 au lait"), names);
+            Assertions.assertEquals(8, root.get("New York").asInt());
+            Assertions.assertEquals(1, root.get("NewYork").asInt());
+            Assertions.assertEquals(2, root.get(" pad ").asInt());
+            Assertions.assertEquals(3, root.get("tab\there").asInt());
+            Assertions.assertEquals(4, root.get("caf\u00e9 au lait").asInt());
+            Assertions.assertNull(root.get("pad"));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.reftch.json.parser;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MapperFactoryTest {
+
+    private static final int THREADS = 32;
+    private static final int ITERATIONS = 200;
+
+    @Test
+    @DisplayName("Should return one shared mapper per class and binding")
+    void shouldShareMapperPerClass() {
+        // Given
+        record Point(int x, int y) {
+        }
+
+        // When
+        var first = MapperFactory.createMapper(Point.class);
+        var second = MapperFactory.createMapper(Point.class, Binding.REFLECTION);
+        var bytecode = MapperFactory.createMapper(Point.class, Binding.BYTECODE);
+        // Then
+        Assertions.assertSame(first, second);
+        Assertions.assertSame(bytecode, MapperFactory.createMapper(Point.class, Binding.BYTECODE));
+        Assertions.assertNotSame(first, bytecode);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MapperFactory.createMapper(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MapperFactory.createMapper(Point.class, null));
+    }
+
+    @Test
+    @DisplayName("Should share mappers of mixed, first-used types across racing threads")
+    void shouldShareMappersAcrossThreads() throws Exception {
+        // Given
+        record Line(String from, String to, double length) {
+        }
+        record Route(String name, List<Line> lines, Map<String, Integer> stops) {
+        }
+        record Tag(String key, Set<String> values, boolean visible) {
+        }
+        var samples = Map.<Class<?>, Object>of(
+                Line.class, new Line("a", "b", 1.5),
+                Route.class, new Route("r1", List.of(new Line("a", "b", 2)), Map.of("a", 1)),
+                Tag.class, new Tag("color", Set.of("red"), true));
+        var types = List.copyOf(samples.keySet());
+        var seen = new ConcurrentHashMap<String, Set<Mapper<?>>>();
+        var start = new CyclicBarrier(THREADS);
+
+        // When
+        var futures = new ArrayList<Future<?>>();
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    // Every thread asks for the same never-used types at the same time
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        var type = types.get((thread + i) % types.size());
+                        var binding = Binding.values()[(thread + i) % Binding.values().length];
+                        var mapper = MapperFactory.createMapper(type, binding);
+                        seen.computeIfAbsent(type.getSimpleName() + "/" + binding, k -> ConcurrentHashMap.newKeySet())
+                                .add(mapper);
+                        roundTrip(mapper, samples.get(type));
+                    }
+                    return null;
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+        // Then
+        Assertions.assertEquals(types.size() * Binding.values().length, seen.size());
+        seen.forEach((key, mappers) -> Assertions.assertEquals(1, mappers.size(), key));
+    }
+
+    @Test
+    @DisplayName("Should set up the codec of each class exactly once when threads race on first use")
+    void shouldSetUpCodecsOnce() throws Exception {
+        // Given fresh copies of one class, none of which has been bound yet
+        var loaders = new ArrayList<FixtureLoader>();
+        var types = new ArrayList<Class<?>>();
+        var samples = new ArrayList<Object>();
+        for (int i = 0; i < 16; i++) {
+            var loader = new FixtureLoader();
+            loaders.add(loader);
+            var type = loader.loadClass(CountedFixture.class.getName());
+            var constructor = type.getDeclaredConstructor(String.class, int.class);
+            constructor.setAccessible(true);
+            types.add(type);
+            samples.add(constructor.newInstance("a", i));
+        }
+        // a class is also first used as a nested value, without going through the factory
+        record Box(Object value) {
+        }
+        var box = MapperFactory.createMapper(Box.class);
+        var seen = new ConcurrentHashMap<String, Set<Mapper<?>>>();
+        var start = new CyclicBarrier(THREADS);
+
+        // When
+        var futures = new ArrayList<Future<?>>();
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < types.size() * Binding.values().length; i++) {
+                        // all threads write the same class at once, then spread out over the factory
+                        int same = i % types.size();
+                        Assertions.assertEquals("{\"value\":{\"name\":\"a\",\"size\":" + same + "}}",
+                                box.toJson(new Box(samples.get(same))));
+                        int index = (thread + i) % types.size();
+                        var type = types.get(index);
+                        var binding = Binding.values()[(thread + i / types.size()) % Binding.values().length];
+                        var mapper = MapperFactory.createMapper(type, binding);
+                        seen.computeIfAbsent(index + "/" + binding, k -> ConcurrentHashMap.newKeySet()).add(mapper);
+                        roundTrip(mapper, samples.get(index));
+                    }
+                    return null;
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+
+        // Then every class looked its compile-time mapper up once, so its codec was created once
+        for (var loader : loaders) {
+            Assertions.assertEquals(1, loader.serviceLookups.get());
+        }
+        Assertions.assertEquals(types.size() * Binding.values().length, seen.size());
+        seen.forEach((key, mappers) -> Assertions.assertEquals(1, mappers.size(), key));
+    }
+
+    /**
+     * Defines its own copy of {@link CountedFixture} and counts the lookups of the generated mapper service,
+     * which the codec setup of a class makes once per run.
+     */
+    private static final class FixtureLoader extends ClassLoader {
+        private static final String SERVICE = "META-INF/services/com.reftch.json.parser.impl.GeneratedMapper";
+
+        private final AtomicInteger serviceLookups = new AtomicInteger();
+
+        FixtureLoader() {
+            super(MapperFactoryTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(CountedFixture.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                var loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                try (var in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    var bytes = in.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            if (name.equals(SERVICE)) {
+                serviceLookups.incrementAndGet();
+            }
+            return super.getResources(name);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void roundTrip(Mapper<T> mapper, Object sample) throws MapperException {
+        var json = mapper.toJson((T) sample);
+        Assertions.assertEquals(sample, mapper.toObject(json));
+    }
+}
+
+/**
+ * Top-level, so that copies defined by other loaders have no enclosing class to disagree with.
+ */
+record CountedFixture(String name, int size) {
+}
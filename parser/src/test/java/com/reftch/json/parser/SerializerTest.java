@@ -1,5 +1,23 @@
 package com.reftch.json.parser;
 
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -251,8 +269,345 @@ public class SerializerTest<T> {
         // When
         var actual = mapper.toJson(arrayRecord);
         // Then
-        var expected = "{\"i\":1,\"arr\":[\"Record2 []\",\"Record2 []\"]}";
+        var expected = "{\"i\":1,\"arr\":[{\"name\":\"test1\",\"numbers\":[1,2,3]},"
+                + "{\"name\":\"test2\",\"numbers\":[4,5,6]}]}";
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Should write json to StringBuilder and Appendable")
+    void shouldWriteToAppendable() throws MapperException {
+        // Given
+        record Person(String name, String surname, int age) {
+        }
+        var mapper = MapperFactory.createMapper(Person.class);
+        var person = new Person("John \"Johnny\"", "Smith", 33);
+        var builder = new StringBuilder("prefix:");
+        var writer = new StringWriter();
+        // When
+        mapper.toJson(person, builder);
+        mapper.toJson(person, writer);
+        // Then
+        var expected = "{\"name\":\"John \\\"Johnny\\\"\",\"surname\":\"Smith\",\"age\":33}";
+        Assertions.assertEquals("prefix:" + expected, builder.toString());
+        Assertions.assertEquals(expected, writer.toString());
+    }
+
+    @Test
+    @DisplayName("Should write large json to Appendable in chunks")
+    void shouldWriteLargeJsonToAppendable() throws MapperException {
+        // Given
+        record Series(String name, String[] values) {
+        }
+        var values = new String[5_000];
+        Arrays.fill(values, "value");
+        var mapper = MapperFactory.createMapper(Series.class);
+        var writer = new StringWriter();
+        // When
+        mapper.toJson(new Series("large", values), writer);
+        // Then
+        Assertions.assertEquals(mapper.toJson(new Series("large", values)), writer.toString());
+        Assertions.assertTrue(writer.toString().endsWith(",\"value\"]}"));
+    }
+
+    @Test
+    @DisplayName("Should return json for Object with Base64 encoded byte array")
+    void shouldMapBase64ByteArrayObject() throws MapperException {
+        // Given
+        record ArrayRecord(
+                @Base64Encoded byte[] payload,
+                byte[] raw) {
+        }
+        var mapper = MapperFactory.createMapper(ArrayRecord.class);
+        var arrayRecord = new ArrayRecord(new byte[] { 1, 2, 3, -1 }, new byte[] { 1, 2 });
+        // When
+        var actual = mapper.toJson(arrayRecord);
+        // Then
+        var expected = "{\"payload\":\"AQID/w==\",\"raw\":[1,2]}";
         Assertions.assertEquals(expected, actual);
+        Assertions.assertArrayEquals(arrayRecord.payload(), mapper.toObject(actual).payload());
     }
 
+    @Test
+    @DisplayName("Should write Base64 exactly as the JDK encoder does, to text and to bytes")
+    void shouldWriteBase64LikeTheJdkEncoder() throws MapperException {
+        // Given
+        record Payload(@Base64Encoded byte[] data) {
+        }
+        var random = new Random(42);
+        for (int length = 0; length < 64; length++) {
+            var data = new byte[length];
+            random.nextBytes(data);
+            var expected = "{\"data\":\"" + Base64.getEncoder().encodeToString(data) + "\"}";
+            for (var binding : Binding.values()) {
+                var mapper = MapperFactory.createMapper(Payload.class, binding);
+                // When
+                var text = mapper.toJson(new Payload(data));
+                var bytes = mapper.toJsonBytes(new Payload(data));
+                // Then
+                Assertions.assertEquals(expected, text);
+                Assertions.assertArrayEquals(expected.getBytes(StandardCharsets.US_ASCII), bytes);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should write shortest round-trip numbers")
+    void shouldWriteShortestNumbers() throws MapperException {
+        // Given
+        record Numbers(double d, float f, long l, int i, double[] ds) {
+        }
+        var mapper = MapperFactory.createMapper(Numbers.class);
+        var numbers = new Numbers(0.1 + 0.2, 1.1f, Long.MIN_VALUE, Integer.MIN_VALUE,
+                new double[] { 1e23, 4.9e-324, 1e7, 0.001, 123.0, -0.0 });
+        // When
+        var actual = mapper.toJson(numbers);
+        // Then
+        var expected = "{\"d\":0.30000000000000004,\"f\":1.1,\"l\":-9223372036854775808,\"i\":-2147483648,"
+                + "\"ds\":[1.0E23,4.9E-324,1.0E7,0.001,123.0,-0.0]}";
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Should escape control characters and keep surrogate pairs")
+    void shouldEscapeControlCharacters() throws MapperException {
+        // Given
+        record Text(String value, char c) {
+        }
+        var mapper = MapperFactory.createMapper(Text.class);
+        var text = new Text("a\u0001\"b\\\n\ud83d\ude00\ud800/", '\u001f');
+        // When
+        var actual = mapper.toJson(text);
+        // Then
+        var expected = "{\"value\":\"a\\u0001\\\"b\\\\\\n\ud83d\ude00\\ud800/\",\"c\":\"\\u001f\"}";
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(text, mapper.toObject(actual));
+        Assertions.assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), mapper.toJsonBytes(text));
+        var lone = new Text("x\udfff", '\udbff');
+        var escaped = "{\"value\":\"x\\udfff\",\"c\":\"\\udbff\"}";
+        Assertions.assertEquals(escaped, mapper.toJson(lone));
+        Assertions.assertArrayEquals(escaped.getBytes(StandardCharsets.UTF_8), mapper.toJsonBytes(lone));
+    }
+
+    public enum Role {
+        ADMIN, USER
+    }
+
+    public static class Address {
+        String city;
+        String zip;
+    }
+
+    public static class Counter {
+        static int instances = 3;
+        static final String KIND = "counter";
+        int value;
+    }
+
+    public class Tally {
+        int count = 2;
+    }
+
+    @Test
+    @DisplayName("Should write instance fields only, leaving out static and synthetic ones")
+    void shouldSkipStaticAndSyntheticFields() throws MapperException {
+        // Given
+        var counter = new Counter();
+        counter.value = 5;
+        var tally = new Tally();
+
+        for (var binding : Binding.values()) {
+            // When
+            var actual = MapperFactory.createMapper(Counter.class, binding).toJson(counter);
+            // the outer instance reference of an inner class is synthetic
+            var inner = MapperFactory.createMapper(Tally.class, binding).toJson(tally);
+
+            // Then
+            Assertions.assertEquals("{\"value\":5}", actual);
+            Assertions.assertEquals("{\"count\":2}", inner);
+        }
+    }
+
+    @Test
+    @DisplayName("Should write nested records, classes, lists and enums as json")
+    void shouldWriteNestedObjects() throws MapperException {
+        // Given
+        record Member(String name, Role role) {
+        }
+        record Group(String title, Address address, List<Member> members, Member lead) {
+        }
+        var address = new Address();
+        address.city = "Berlin";
+        address.zip = "10117";
+        var mapper = MapperFactory.createMapper(Group.class);
+        var group = new Group("core", address,
+                List.of(new Member("John", Role.ADMIN), new Member("Jane", Role.USER)), null);
+        // When
+        var actual = mapper.toJson(group);
+        // Then
+        var expected = "{\"title\":\"core\",\"address\":{\"city\":\"Berlin\",\"zip\":\"10117\"},"
+                + "\"members\":[{\"name\":\"John\",\"role\":\"ADMIN\"},{\"name\":\"Jane\",\"role\":\"USER\"}],"
+                + "\"lead\":null}";
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(group.members(), mapper.toObject(actual).members());
+    }
+
+    @Test
+    @DisplayName("Should write maps, sets and optionals as json")
+    void shouldWriteGenericCollections() throws MapperException {
+        // Given
+        record Settings(Map<Role, Integer> limits, Set<String> flags, Optional<String> theme, Optional<String> locale,
+                Object extra) {
+        }
+        var limits = new EnumMap<Role, Integer>(Role.class);
+        limits.put(Role.ADMIN, 10);
+        limits.put(Role.USER, 1);
+        var mapper = MapperFactory.createMapper(Settings.class);
+        var settings = new Settings(limits, new LinkedHashSet<>(List.of("beta", "dark\"mode")), Optional.of("light"),
+                Optional.empty(), Map.of("k", List.of(1)));
+        // When
+        var actual = mapper.toJson(settings);
+        // Then
+        var expected = "{\"limits\":{\"ADMIN\":10,\"USER\":1},\"flags\":[\"beta\",\"dark\\\"mode\"],"
+                + "\"theme\":\"light\",\"locale\":null,\"extra\":{\"k\":[1]}}";
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(limits, mapper.toObject(actual).limits());
+    }
+
+    @Test
+    @DisplayName("Should write correct json from pooled buffers on many virtual threads")
+    void shouldWriteFromPooledBuffersOnVirtualThreads() throws Exception {
+        // Given
+        record Entry(int id, String text) {
+        }
+        var mapper = MapperFactory.createMapper(Entry.class);
+        // every fourth entry outgrows the pooled buffers, so they are dropped instead of returned
+        IntFunction<Entry> entry = i -> new Entry(i, "x".repeat(i % 4 == 0 ? 300_000 : i));
+
+        // When
+        var futures = new ArrayList<Future<String>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2_000; i++) {
+                int id = i;
+                futures.add(executor.submit(() -> mapper.toJson(entry.apply(id))));
+            }
+        }
+        // Then
+        for (int i = 0; i < futures.size(); i++) {
+            Assertions.assertEquals("{\"id\":" + i + ",\"text\":\"" + entry.apply(i).text() + "\"}", futures.get(i).get());
+        }
+    }
+
+    @Test
+    @DisplayName("Should write the same json as UTF-8 bytes, to a stream and to a channel")
+    void shouldWriteUtf8Bytes() throws MapperException {
+        // Given
+        record Line(String text, char mark, double price, Map<String, Long> counts) {
+        }
+        record Document(String title, List<Line> lines) {
+        }
+        var lines = new ArrayList<Line>();
+        for (int i = 0; i < 2_000; i++) {
+            lines.add(new Line("café \u4e2d\u6587 \ud83d\ude00 \"quoted\"\n\u0001 " + i, i % 2 == 0 ? 'é' : '\t', i / 3.0,
+                    Map.of("größe", (long) i)));
+        }
+        var document = new Document("lone \ud800 surrogate", lines);
+        for (var binding : Binding.values()) {
+            var mapper = MapperFactory.createMapper(Document.class, binding);
+            var expected = mapper.toJson(document).getBytes(StandardCharsets.UTF_8);
+            // When
+            var bytes = mapper.toJsonBytes(document);
+            var stream = new ByteArrayOutputStream();
+            mapper.toJson(document, stream);
+            var channel = new ByteArrayOutputStream();
+            mapper.toJson(document, Channels.newChannel(channel));
+            // Then
+            Assertions.assertArrayEquals(expected, bytes);
+            Assertions.assertArrayEquals(expected, stream.toByteArray());
+            Assertions.assertArrayEquals(expected, channel.toByteArray());
+            Assertions.assertEquals(document, mapper.toObject(bytes, 0, bytes.length));
+        }
+    }
+
+    @GenerateMapper
+    public record Label(String größe, int 数) {
+    }
+
+    @Test
+    @DisplayName("Should write the pre-encoded UTF-8 names of every kind of mapper")
+    void shouldWritePreEncodedNames() throws Exception {
+        // Given
+        var label = new Label("groß", 7);
+        var expected = "{\"größe\":\"groß\",\"数\":7}".getBytes(StandardCharsets.UTF_8);
+        // the compile-time mapper keeps the names as byte constants
+        var generated = Class.forName("com.reftch.json.parser.SerializerTest_LabelJsonMapper");
+        Assertions.assertEquals(byte[].class, generated.getDeclaredField("NAME_0").getType());
+
+        // without a compile-time mapper BYTECODE generates a hidden class
+        record Tag(String größe, int 数) {
+        }
+        var tag = new Tag("groß", 7);
+
+        for (var binding : Binding.values()) {
+            // When
+            var bytes = MapperFactory.createMapper(Label.class, binding).toJsonBytes(label);
+            var tagBytes = MapperFactory.createMapper(Tag.class, binding).toJsonBytes(tag);
+            // Then
+            Assertions.assertArrayEquals(expected, bytes);
+            Assertions.assertArrayEquals(expected, tagBytes);
+        }
+    }
+
+    @Test
+    @DisplayName("Should write through the generated writer of a BYTECODE mapper")
+    void shouldWriteThroughGeneratedBytecode() throws MapperException {
+        // Given
+        record Receipt(String id, Number total) {
+        }
+        var writers = new ArrayList<Class<?>>();
+        // Numbers of other classes are written with toString, which records the classes on the stack
+        var total = new Number() {
+            @Override
+            public String toString() {
+                StackWalker.getInstance(Set.of(StackWalker.Option.SHOW_HIDDEN_FRAMES, StackWalker.Option.RETAIN_CLASS_REFERENCE))
+                        .forEach(frame -> writers.add(frame.getDeclaringClass()));
+                return "42";
+            }
+
+            @Override
+            public int intValue() {
+                return 42;
+            }
+
+            @Override
+            public long longValue() {
+                return 42;
+            }
+
+            @Override
+            public float floatValue() {
+                return 42;
+            }
+
+            @Override
+            public double doubleValue() {
+                return 42;
+            }
+        };
+        var receipt = new Receipt("r1", total);
+
+        for (var binding : Binding.values()) {
+            writers.clear();
+            // When
+            var actual = MapperFactory.createMapper(Receipt.class, binding).toJson(receipt);
+            var bytes = MapperFactory.createMapper(Receipt.class, binding).toJsonBytes(receipt);
+            // Then
+            Assertions.assertEquals("{\"id\":\"r1\",\"total\":42}", actual);
+            Assertions.assertEquals(actual, new String(bytes, StandardCharsets.UTF_8));
+            var generated = writers.stream()
+                    .filter(type -> type.isHidden() && type.getName().startsWith(Receipt.class.getName()))
+                    .count();
+            Assertions.assertEquals(binding == Binding.BYTECODE ? 2 : 0, generated);
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package com.reftch.json.parser.impl;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Classifies a block of bytes with the Vector API: one load and a handful of lane-wise compares per
+ * vector, with the resulting lane masks packed straight into the block bitmaps.
+ *
+ * Only loaded by {@link StructuralScanner#instance()} when {@code jdk.incubator.vector} is in the boot
+ * layer, e.g. with {@code --add-modules jdk.incubator.vector}.
+ */
+final class VectorStructuralScanner extends StructuralScanner {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    boolean isAccelerated() {
+        // Narrower vectors than SSE take more steps per block than the lookup table
+        return SPECIES.length() >= 16 && SPECIES.length() <= BLOCK;
+    }
+
+    @Override
+    void classify(byte[] in, int offset, long[] masks) {
+        long quote = 0;
+        long backslash = 0;
+        long operator = 0;
+        long whitespace = 0;
+        for (int i = 0; i < BLOCK; i += SPECIES.length()) {
+            var v = ByteVector.fromArray(SPECIES, in, offset + i);
+            quote |= v.eq((byte) '"').toLong() << i;
+            backslash |= v.eq((byte) '\\').toLong() << i;
+
+            // '[' and ']' differ from '{' and '}' only in bit 5, so setting it folds them together
+            var brackets = v.or((byte) 0x20);
+            VectorMask<Byte> ops = brackets.eq((byte) '{')
+                    .or(brackets.eq((byte) '}'))
+                    .or(v.eq((byte) ':'))
+                    .or(v.eq((byte) ','));
+            operator |= ops.toLong() << i;
+
+            VectorMask<Byte> ws = v.eq((byte) ' ')
+                    .or(v.eq((byte) '\t'))
+                    .or(v.eq((byte) '\n'))
+                    .or(v.eq((byte) '\r'));
+            whitespace |= ws.toLong() << i;
+        }
+        masks[QUOTE] = quote;
+        masks[BACKSLASH] = backslash;
+        masks[OPERATOR] = operator;
+        masks[WHITESPACE] = whitespace;
+    }
+}
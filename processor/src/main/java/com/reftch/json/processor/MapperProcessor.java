@@ -0,0 +1,397 @@
+package com.reftch.json.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a reflection-free mapper for every record and class annotated with
+ * {@code com.reftch.json.parser.GenerateMapper}.
+ *
+ * The generated {@code <Class>JsonMapper} reads properties through a string switch on the key and
+ * writes them with straight-line field or accessor calls; values the generator does not unroll
+ * (arrays, nested objects, enums, boxed scalars) are handed back to the runtime binder. Every mapper is
+ * registered in {@code META-INF/services} so that the runtime finds it without reflection on the class.
+ *
+ * Classes the generated code cannot bind directly (private or final fields, no accessible no-arg
+ * constructor, type parameters) are reported as warnings and left to the reflective mapper.
+ * The annotations are referenced by name, so the processor does not depend on the parser module.
+ */
+@SupportedAnnotationTypes(MapperProcessor.GENERATE_MAPPER)
+public final class MapperProcessor extends AbstractProcessor {
+    static final String GENERATE_MAPPER = "com.reftch.json.parser.GenerateMapper";
+    private static final String BASE64_ENCODED = "com.reftch.json.parser.Base64Encoded";
+    private static final String GENERATED_MAPPER = "com.reftch.json.parser.impl.GeneratedMapper";
+    private static final String SUFFIX = "JsonMapper";
+
+    private final Set<String> mappers = new TreeSet<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+
+    private record Property(String name, TypeMirror type, boolean base64, String getter) {
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.RECORD || element.getKind() == ElementKind.CLASS) {
+                    generate((TypeElement) element);
+                } else {
+                    error(element, "@GenerateMapper applies to records and classes only");
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !mappers.isEmpty()) {
+            writeServices();
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) {
+        var reason = unsupportedReason(type);
+        if (reason != null) {
+            warning(type, "No mapper generated, " + reason + "; the reflective mapper is used instead");
+            return;
+        }
+
+        var properties = type.getKind() == ElementKind.RECORD ? recordProperties(type) : fieldProperties(type);
+        for (var property : properties) {
+            reason = unsupportedReason(property);
+            if (reason != null) {
+                warning(type, "No mapper generated, " + reason + "; the reflective mapper is used instead");
+                return;
+            }
+        }
+
+        var packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        var simpleName = mapperSimpleName(type);
+        var qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try {
+            var file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (var out = new PrintWriter(file.openWriter())) {
+                out.print(source(type, packageName, simpleName, properties));
+            }
+        } catch (IOException e) {
+            error(type, "Failed to write " + qualifiedName + ": " + e.getMessage());
+            return;
+        }
+        mappers.add(qualifiedName);
+        originatingElements.add(type);
+    }
+
+    private String unsupportedReason(TypeElement type) {
+        if (!type.getTypeParameters().isEmpty()) {
+            return "type parameters are not supported";
+        }
+        for (Element e = type; e instanceof TypeElement t; e = e.getEnclosingElement()) {
+            if (t.getModifiers().contains(Modifier.PRIVATE)) {
+                return "private types are not accessible";
+            }
+            if (t.getNestingKind() == NestingKind.MEMBER && t.getKind() == ElementKind.CLASS
+                    && !t.getModifiers().contains(Modifier.STATIC)) {
+                return "inner classes need an enclosing instance";
+            }
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS) {
+                return "local classes are not accessible";
+            }
+        }
+        if (type.getKind() == ElementKind.CLASS) {
+            if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+                return "abstract classes cannot be instantiated";
+            }
+            var constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+            boolean noArg = constructors.stream()
+                    .anyMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE));
+            if (!noArg) {
+                return "no accessible no-arg constructor";
+            }
+            for (var field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                var modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC)) {
+                    continue;
+                }
+                if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+                    return "field " + field.getSimpleName() + " is private or final";
+                }
+            }
+        }
+        return null;
+    }
+
+    private String unsupportedReason(Property property) {
+        if (containsTypeVariable(property.type())) {
+            return "type of " + property.name() + " is not concrete";
+        }
+        if (isList(property.type()) && listElement(property.type()) == null) {
+            return property.name() + " must be declared as java.util.List with a concrete element type";
+        }
+        if (isContainer(property.type()) && !isList(property.type()) || isGenericArray(property.type())) {
+            return "maps, sets, optionals and generic arrays like " + property.name() + " are bound at run time";
+        }
+        return null;
+    }
+
+    private List<Property> recordProperties(TypeElement type) {
+        var properties = new ArrayList<Property>();
+        for (var component : type.getRecordComponents()) {
+            var name = component.getSimpleName().toString();
+            properties.add(new Property(name, component.asType(), isBase64(component), "value." + name + "()"));
+        }
+        return properties;
+    }
+
+    private List<Property> fieldProperties(TypeElement type) {
+        var properties = new ArrayList<Property>();
+        for (var field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            var name = field.getSimpleName().toString();
+            properties.add(new Property(name, field.asType(), isBase64(field), "value." + name));
+        }
+        return properties;
+    }
+
+    private String source(TypeElement type, String packageName, String simpleName, List<Property> properties) {
+        var typeName = type.getQualifiedName().toString();
+        var record = type.getKind() == ElementKind.RECORD;
+
+        var src = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        src.append("public final class ").append(simpleName)
+                .append(" extends ").append(GENERATED_MAPPER).append('<').append(typeName).append("> {\n\n");
+
+        // property names pre-encoded for byte outputs
+        for (int i = 0; i < properties.size(); i++) {
+            src.append("    private static final byte[] NAME_").append(i).append(" = ")
+                    .append(literal("\"" + properties.get(i).name() + "\":"))
+                    .append(".getBytes(java.nio.charset.StandardCharsets.UTF_8);\n");
+        }
+        if (!properties.isEmpty()) {
+            src.append('\n');
+        }
+
+        src.append("    public ").append(simpleName).append("() {\n");
+        src.append("        super(").append(typeName).append(".class);\n");
+        src.append("    }\n\n");
+
+        // read
+        src.append("    @Override\n");
+        src.append("    @SuppressWarnings(\"unchecked\")\n");
+        src.append("    protected ").append(typeName)
+                .append(" read(com.reftch.json.parser.impl.JsonInput in) throws com.reftch.json.parser.MapperException {\n");
+        if (record) {
+            for (int i = 0; i < properties.size(); i++) {
+                var property = properties.get(i);
+                src.append("        ").append(property.type()).append(" v").append(i).append(" = ")
+                        .append(defaultValue(property.type())).append(";\n");
+            }
+        } else {
+            src.append("        var object = new ").append(typeName).append("();\n");
+        }
+        src.append("        in.beginObject();\n");
+        src.append("        while (in.hasNext()) {\n");
+        src.append("            switch (in.nextName()) {\n");
+        for (int i = 0; i < properties.size(); i++) {
+            var property = properties.get(i);
+            src.append("                case ").append(literal(property.name())).append(" -> ")
+                    .append(record ? "v" + i : "object." + property.name())
+                    .append(" = ").append(readExpression(property.type())).append(";\n");
+        }
+        src.append("                default -> in.skipValue();\n");
+        src.append("            }\n");
+        src.append("        }\n");
+        src.append("        in.endObject();\n");
+        if (record) {
+            src.append("        return new ").append(typeName).append('(');
+            for (int i = 0; i < properties.size(); i++) {
+                src.append(i > 0 ? ", " : "").append('v').append(i);
+            }
+            src.append(");\n");
+        } else {
+            src.append("        return object;\n");
+        }
+        src.append("    }\n\n");
+
+        // write
+        src.append("    @Override\n");
+        src.append("    protected void write(").append(typeName)
+                .append(" value, com.reftch.json.parser.impl.JsonOutput out) throws java.io.IOException {\n");
+        src.append("        out.beginObject();\n");
+        for (int i = 0; i < properties.size(); i++) {
+            var property = properties.get(i);
+            if (i > 0) {
+                src.append("        out.comma();\n");
+            }
+            src.append("        out.name(").append(literal("\"" + property.name() + "\":")).append(", NAME_").append(i)
+                    .append(");\n");
+            src.append("        out.").append(isBase64Bytes(property) ? "base64" : "value")
+                    .append('(').append(property.getter()).append(");\n");
+            src.append("        out.flushIfFull();\n");
+        }
+        src.append("        out.endObject();\n");
+        src.append("    }\n");
+        src.append("}\n");
+        return src.toString();
+    }
+
+    private String readExpression(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "in.nextBoolean()";
+            case BYTE -> "in.nextByte()";
+            case SHORT -> "in.nextShort()";
+            case CHAR -> "in.nextChar()";
+            case INT -> "in.nextInt()";
+            case LONG -> "in.nextLong()";
+            case FLOAT -> "in.nextFloat()";
+            case DOUBLE -> "in.nextDouble()";
+            default -> {
+                if (isString(type)) {
+                    yield "in.nextString()";
+                }
+                if (isList(type)) {
+                    yield "in.readList(" + erasure(listElement(type)) + ".class)";
+                }
+                yield "in.read(" + erasure(type) + ".class)";
+            }
+        };
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "false";
+            case BYTE -> "(byte) 0";
+            case SHORT -> "(short) 0";
+            case CHAR -> "'\\0'";
+            case INT -> "0";
+            case LONG -> "0L";
+            case FLOAT -> "0f";
+            case DOUBLE -> "0d";
+            default -> "null";
+        };
+    }
+
+    private boolean isString(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && erasure(type).equals("java.lang.String");
+    }
+
+    private boolean isList(TypeMirror type) {
+        var types = processingEnv.getTypeUtils();
+        var list = processingEnv.getElementUtils().getTypeElement("java.util.List");
+        return type.getKind() == TypeKind.DECLARED && types.isAssignable(types.erasure(type), types.erasure(list.asType()));
+    }
+
+    private boolean isContainer(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        var types = processingEnv.getTypeUtils();
+        var elements = processingEnv.getElementUtils();
+        var erasure = types.erasure(type);
+        return erasure(type).equals("java.util.Optional")
+                || types.isAssignable(erasure, types.erasure(elements.getTypeElement("java.util.Collection").asType()))
+                || types.isAssignable(erasure, types.erasure(elements.getTypeElement("java.util.Map").asType()));
+    }
+
+    private static boolean isGenericArray(TypeMirror type) {
+        return type.getKind() == TypeKind.ARRAY && ((ArrayType) type).getComponentType() instanceof DeclaredType component
+                && !component.getTypeArguments().isEmpty();
+    }
+
+    /**
+     * Element type of a property declared as {@code java.util.List<E>} with a non-generic {@code E}, otherwise null.
+     */
+    private TypeMirror listElement(TypeMirror type) {
+        if (!erasure(type).equals("java.util.List")) {
+            return null;
+        }
+        var arguments = ((DeclaredType) type).getTypeArguments();
+        return arguments.size() == 1 && arguments.getFirst() instanceof DeclaredType element
+                && element.getTypeArguments().isEmpty() ? element : null;
+    }
+
+    private boolean isBase64Bytes(Property property) {
+        return property.base64() && property.type().getKind() == TypeKind.ARRAY
+                && ((ArrayType) property.type()).getComponentType().getKind() == TypeKind.BYTE;
+    }
+
+    private static boolean isBase64(Element element) {
+        return element.getAnnotationMirrors().stream()
+                .anyMatch(a -> ((TypeElement) a.getAnnotationType().asElement()).getQualifiedName()
+                        .contentEquals(BASE64_ENCODED));
+    }
+
+    private boolean containsTypeVariable(TypeMirror type) {
+        return switch (type.getKind()) {
+            case TYPEVAR, WILDCARD -> true;
+            case ARRAY -> containsTypeVariable(((ArrayType) type).getComponentType());
+            case DECLARED -> ((DeclaredType) type).getTypeArguments().stream().anyMatch(this::containsTypeVariable);
+            default -> false;
+        };
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String literal(String value) {
+        return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    private static String mapperSimpleName(TypeElement type) {
+        var name = new StringBuilder(type.getSimpleName());
+        for (Element e = type.getEnclosingElement(); e instanceof TypeElement outer; e = e.getEnclosingElement()) {
+            name.insert(0, '_').insert(0, outer.getSimpleName());
+        }
+        return name.append(SUFFIX).toString();
+    }
+
+    private void writeServices() {
+        try {
+            var file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    "META-INF/services/" + GENERATED_MAPPER, originatingElements.toArray(Element[]::new));
+            try (var out = new PrintWriter(file.openWriter())) {
+                mappers.forEach(out::println);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to register generated mappers: " + e.getMessage());
+        }
+    }
+
+    private void warning(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}